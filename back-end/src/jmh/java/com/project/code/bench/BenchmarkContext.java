@@ -0,0 +1,63 @@
+package com.project.code.bench;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.CodeApplication;
+
+// One application context per benchmark JVM, booted with the `bench` profile (H2 in MySQL mode, see
+// application-bench.properties) and seeded from insert_data.sql scaled by -Dbench.scale.
+// Store 1 is then made to stock every product with effectively unlimited stock, so carts of any size
+// can be placed there for the whole run without running out.
+final class BenchmarkContext {
+
+    static final long STORE_ID = 1L;
+    static final long UNLIMITED_STOCK = 1_000_000_000L;
+
+    private static ConfigurableApplicationContext context;
+    private static BenchmarkData.Counts counts;
+
+    private BenchmarkContext() {}
+
+    static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            SpringApplication application = new SpringApplication(CodeApplication.class);
+            application.setAdditionalProfiles("bench");
+            context = application.run();
+            try {
+                seed(context.getBean(JdbcTemplate.class));
+            } catch (Exception e) {
+                context.close();
+                context = null;
+                throw new IllegalStateException("Could not seed the benchmark database", e);
+            }
+        }
+        return context;
+    }
+
+    static synchronized BenchmarkData.Counts counts() {
+        get();
+        return counts;
+    }
+
+    static synchronized void close() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) throws Exception {
+        int scale = Integer.getInteger("bench.scale", 10);
+        Path script = Path.of(System.getProperty("bench.data", "../insert_data.sql"));
+        counts = BenchmarkData.seed(jdbcTemplate, script, Math.max(1, scale));
+        jdbcTemplate.update("UPDATE inventory SET stock_level = ? WHERE store_id = ?", UNLIMITED_STOCK, STORE_ID);
+        jdbcTemplate.update("INSERT INTO inventory (product_id, store_id, stock_level, version) "
+                + "SELECT p.id, ?, ?, 0 FROM product p "
+                + "WHERE NOT EXISTS (SELECT 1 FROM inventory i WHERE i.product_id = p.id AND i.store_id = ?)",
+                STORE_ID, UNLIMITED_STOCK, STORE_ID);
+    }
+}
@@ -0,0 +1,155 @@
+package com.project.code.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// Seeds the benchmark database from insert_data.sql, repeated `scale` times.
+// Only the catalogue tables are loaded (product, store, customer, inventory); the order statements use
+// MySQL functions H2 does not have and orders are what the benchmarks write anyway.
+// Copy k gets its SKUs and e-mails suffixed and its inventory rows pointed at the products and stores of copy k,
+// which relies on the identity columns of the fresh schema starting at 1.
+final class BenchmarkData {
+
+    private static final Pattern INSERT = Pattern.compile(
+            "INSERT\\s+INTO\\s+(\\w+)\\s*\\(([^)]*)\\)\\s*VALUES\\s*(.*)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final List<String> TABLES = List.of("product", "store", "customer", "inventory");
+
+    private BenchmarkData() {}
+
+    record Counts(int products, int stores, int customers) {}
+
+    static Counts seed(JdbcTemplate jdbcTemplate, Path script, int scale) throws IOException {
+        Map<String, List<String>> columns = new LinkedHashMap<>();
+        Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+        for (String statement : statements(Files.readString(script, StandardCharsets.UTF_8))) {
+            Matcher m = INSERT.matcher(statement.trim());
+            if (!m.matches() || !TABLES.contains(m.group(1).toLowerCase())) {
+                continue;
+            }
+            String table = m.group(1).toLowerCase();
+            columns.put(table, Arrays.stream(m.group(2).split(",")).map(c -> c.trim().toLowerCase()).toList());
+            rows.computeIfAbsent(table, t -> new ArrayList<>()).addAll(tuples(m.group(3)));
+        }
+
+        int products = rows.getOrDefault("product", List.of()).size();
+        int stores = rows.getOrDefault("store", List.of()).size();
+        int customers = rows.getOrDefault("customer", List.of()).size();
+        for (String table : TABLES) {
+            List<String> cols = columns.get(table);
+            if (cols == null) {
+                continue;
+            }
+            List<Object[]> scaled = new ArrayList<>();
+            for (int copy = 0; copy < scale; copy++) {
+                for (Object[] row : rows.get(table)) {
+                    scaled.add(copy(table, cols, row, copy, products, stores));
+                }
+            }
+            String sql = "INSERT INTO " + table + " (" + String.join(", ", cols) + ") VALUES ("
+                    + String.join(", ", cols.stream().map(c -> "?").toList()) + ")";
+            jdbcTemplate.batchUpdate(sql, scaled);
+        }
+        return new Counts(products * scale, stores * scale, customers * scale);
+    }
+
+    private static Object[] copy(String table, List<String> cols, Object[] row, int copy, int products, int stores) {
+        Object[] out = row.clone();
+        if (copy == 0) {
+            return out;
+        }
+        for (int i = 0; i < cols.size(); i++) {
+            switch (table + "." + cols.get(i)) {
+                case "product.sku" -> out[i] = out[i] + "-" + copy;
+                case "customer.email" -> out[i] = copy + "." + out[i];
+                case "inventory.product_id" -> out[i] = ((Number) out[i]).longValue() + (long) copy * products;
+                case "inventory.store_id" -> out[i] = ((Number) out[i]).longValue() + (long) copy * stores;
+                default -> { }
+            }
+        }
+        return out;
+    }
+
+    // Splits a script on semicolons outside of quoted strings, dropping -- comments
+    private static List<String> statements(String script) {
+        List<String> result = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < script.length(); i++) {
+            char c = script.charAt(i);
+            if (!quoted && c == '-' && i + 1 < script.length() && script.charAt(i + 1) == '-') {
+                while (i < script.length() && script.charAt(i) != '\n') {
+                    i++;
+                }
+                current.append('\n');
+                continue;
+            }
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == ';' && !quoted) {
+                result.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        result.add(current.toString());
+        return result;
+    }
+
+    // Parses "(v, v, ...), (v, ...)" where each v is a quoted string or a number
+    private static List<Object[]> tuples(String values) {
+        List<Object[]> result = new ArrayList<>();
+        List<Object> tuple = null;
+        StringBuilder token = new StringBuilder();
+        boolean quoted = false;
+        boolean wasString = false;
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+            if (quoted) {
+                if (c == '\'' && i + 1 < values.length() && values.charAt(i + 1) == '\'') {
+                    token.append('\'');
+                    i++;
+                } else if (c == '\'') {
+                    quoted = false;
+                } else {
+                    token.append(c);
+                }
+            } else if (c == '\'') {
+                quoted = true;
+                wasString = true;
+            } else if (c == '(') {
+                tuple = new ArrayList<>();
+            } else if ((c == ',' || c == ')') && tuple != null) {
+                tuple.add(wasString ? token.toString() : number(token.toString().trim()));
+                token.setLength(0);
+                wasString = false;
+                if (c == ')') {
+                    result.add(tuple.toArray());
+                    tuple = null;
+                }
+            } else if (tuple != null) {
+                token.append(c);
+            }
+        }
+        return result;
+    }
+
+    private static Object number(String value) {
+        if (value.equalsIgnoreCase("null")) {
+            return null;
+        }
+        return value.contains(".") ? (Object) Double.valueOf(value) : (Object) Long.valueOf(value);
+    }
+}
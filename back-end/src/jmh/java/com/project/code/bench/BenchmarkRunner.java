@@ -0,0 +1,92 @@
+package com.project.code.bench;
+
+import java.io.File;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Entry point of `mvn -Pjmh verify`. Runs the benchmarks selected by the JMH command line with the GC profiler
+// (allocation rate per operation) and writes the JMH JSON result to bench.resultDir/<timestamp>.json.
+// With -Dbench.baseline=<earlier result>.json it also writes <timestamp>-compare.json: one entry per
+// benchmark/params/mode with both scores and the change in percent, plus the per-line score for cart benchmarks.
+public final class BenchmarkRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        File resultDir = new File(System.getProperty("bench.resultDir", "target/jmh"));
+        resultDir.mkdirs();
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        File result = new File(resultDir, stamp + ".json");
+
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath())
+                .jvmArgsAppend("-Dbench.scale=" + System.getProperty("bench.scale", "10"),
+                        "-Dbench.data=" + System.getProperty("bench.data", "../insert_data.sql"))
+                .build();
+        new Runner(options).run();
+
+        String baseline = System.getProperty("bench.baseline", "");
+        if (!baseline.isBlank()) {
+            File compare = new File(resultDir, stamp + "-compare.json");
+            MAPPER.writeValue(compare, compare(MAPPER.readTree(new File(baseline)), MAPPER.readTree(result)));
+            System.out.println("Comparison with " + baseline + " written to " + compare);
+        }
+    }
+
+    static List<Map<String, Object>> compare(JsonNode baseline, JsonNode current) {
+        Map<String, JsonNode> before = new LinkedHashMap<>();
+        for (JsonNode run : baseline) {
+            before.put(key(run), run);
+        }
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (JsonNode run : current) {
+            JsonNode old = before.get(key(run));
+            double score = run.path("primaryMetric").path("score").asDouble();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("benchmark", run.path("benchmark").asText());
+            row.put("mode", run.path("mode").asText());
+            row.put("params", MAPPER.convertValue(run.path("params"), Map.class));
+            row.put("unit", run.path("primaryMetric").path("scoreUnit").asText());
+            row.put("score", score);
+            if (old != null) {
+                double oldScore = old.path("primaryMetric").path("score").asDouble();
+                row.put("baseline", oldScore);
+                row.put("changePercent", oldScore == 0 ? null : (score - oldScore) * 100 / oldScore);
+            }
+            JsonNode cartSize = run.path("params").path("cartSize");
+            if (!cartSize.isMissingNode() && "avgt".equals(run.path("mode").asText())) {
+                row.put("scorePerLine", score / cartSize.asInt());
+            }
+            JsonNode alloc = run.path("secondaryMetrics").path("gc.alloc.rate.norm");
+            if (!alloc.isMissingNode()) {
+                row.put("allocBytesPerOp", alloc.path("score").asDouble());
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static String key(JsonNode run) {
+        return run.path("benchmark").asText() + " " + run.path("mode").asText() + " " + run.path("params");
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.code.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PurchaseProductDTO;
+
+// Pre-built order requests for store 1, so building a request is not part of what is measured.
+// Cart i holds `cartSize` distinct products starting at a rotating offset and belongs to a rotating seeded customer.
+final class Carts {
+
+    private final List<PlaceOrderRequestDTO> requests;
+    private int next;
+
+    Carts(JdbcTemplate jdbcTemplate, int cartSize, int count) {
+        List<Long> productIds = jdbcTemplate.queryForList(
+                "SELECT product_id FROM inventory WHERE store_id = ? ORDER BY product_id", Long.class, BenchmarkContext.STORE_ID);
+        List<String> emails = jdbcTemplate.queryForList("SELECT email FROM customer ORDER BY id", String.class);
+        if (productIds.size() < cartSize) {
+            throw new IllegalStateException("Store " + BenchmarkContext.STORE_ID + " stocks " + productIds.size()
+                    + " products, fewer than a cart of " + cartSize + "; raise -Dbench.scale");
+        }
+        requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<PurchaseProductDTO> lines = new ArrayList<>(cartSize);
+            for (int j = 0; j < cartSize; j++) {
+                PurchaseProductDTO line = new PurchaseProductDTO();
+                line.setId(productIds.get((i * 7 + j) % productIds.size()));
+                line.setQuantity(1);
+                line.setPrice(1.0);
+                lines.add(line);
+            }
+            PlaceOrderRequestDTO request = new PlaceOrderRequestDTO();
+            request.setStoreId(BenchmarkContext.STORE_ID);
+            request.setCustomerEmail(emails.get(i % emails.size()));
+            request.setCustomerName("Benchmark");
+            request.setPurchaseProduct(lines);
+            request.setTotalPrice((double) cartSize);
+            requests.add(request);
+        }
+    }
+
+    PlaceOrderRequestDTO next() {
+        PlaceOrderRequestDTO request = requests.get(next);
+        next = (next + 1) % requests.size();
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.code.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.Inventory;
+import com.project.code.Model.Product;
+import com.project.code.Model.Store;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Service.InventoryCache;
+import com.project.code.Service.ServiceClass;
+
+// Inventory reads on the checkout path: ServiceClass validation (served by the inventory cache) and the
+// per-store inventory lookup of a cart, both from the cache and straight from the repository.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class InventoryBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int cartSize;
+
+    private ServiceClass serviceClass;
+    private InventoryCache inventoryCache;
+    private InventoryRepository inventoryRepository;
+    private List<Long> productIds;
+    private Inventory probe;
+
+    @Setup
+    public void setUp() {
+        serviceClass = BenchmarkContext.get().getBean(ServiceClass.class);
+        inventoryCache = BenchmarkContext.get().getBean(InventoryCache.class);
+        inventoryRepository = BenchmarkContext.get().getBean(InventoryRepository.class);
+        List<Long> stocked = BenchmarkContext.get().getBean(JdbcTemplate.class).queryForList(
+                "SELECT product_id FROM inventory WHERE store_id = ? ORDER BY product_id", Long.class, BenchmarkContext.STORE_ID);
+        productIds = new ArrayList<>(stocked.subList(0, Math.min(cartSize, stocked.size())));
+
+        Product product = new Product();
+        product.setId(productIds.get(0));
+        Store store = new Store();
+        store.setId(BenchmarkContext.STORE_ID);
+        probe = new Inventory(product, store, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public boolean validateInventory() {
+        return serviceClass.validateInventory(probe);
+    }
+
+    @Benchmark
+    public int cachedCartLookup() {
+        return inventoryCache.getAll(BenchmarkContext.STORE_ID, productIds).size();
+    }
+
+    @Benchmark
+    public int repositoryCartLookup() {
+        return inventoryRepository.findStockByStoreIdAndProductIds(BenchmarkContext.STORE_ID, productIds).size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.code.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.PlaceOrderResultDTO;
+import com.project.code.Service.OrderService;
+
+// Checkout through OrderService.saveOrder for carts of 1, 10 and 100 lines.
+// Throughput is orders per second; BenchmarkRunner divides the average time by `cartSize` for the per-line latency.
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderBenchmark {
+
+    @Param({ "1", "10", "100" })
+    public int cartSize;
+
+    private OrderService orderService;
+    private Carts carts;
+
+    @Setup
+    public void setUp() {
+        orderService = BenchmarkContext.get().getBean(OrderService.class);
+        carts = new Carts(BenchmarkContext.get().getBean(JdbcTemplate.class), cartSize, 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    @Benchmark
+    public PlaceOrderResultDTO saveOrder() {
+        PlaceOrderResultDTO result = orderService.saveOrder(carts.next());
+        if (!result.isSuccess()) {
+            throw new IllegalStateException("Order refused: " + result.getError());
+        }
+        return result;
+    }
+}
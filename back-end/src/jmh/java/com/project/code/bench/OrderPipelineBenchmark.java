@@ -0,0 +1,81 @@
+package com.project.code.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.code.Model.OrderTicketDTO;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Service.OrderPipelineService;
+import com.project.code.Service.OrderService;
+
+// Concurrent checkout of 10-line carts: one transaction per order (saveOrder) against the group-commit
+// pipeline of `?async=true`, measured until the order is durable so both do the same work.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class OrderPipelineBenchmark {
+
+    @Param({ "10" })
+    public int cartSize;
+
+    private OrderService orderService;
+    private OrderPipelineService orderPipelineService;
+    private Carts carts;
+
+    @Setup
+    public void setUp() {
+        orderService = BenchmarkContext.get().getBean(OrderService.class);
+        orderPipelineService = BenchmarkContext.get().getBean(OrderPipelineService.class);
+        carts = new Carts(BenchmarkContext.get().getBean(JdbcTemplate.class), cartSize, 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContext.close();
+    }
+
+    private PlaceOrderRequestDTO nextCart() {
+        synchronized (carts) {
+            return carts.next();
+        }
+    }
+
+    @Benchmark
+    public Long sync() {
+        return orderService.saveOrder(nextCart()).getOrderId();
+    }
+
+    @Benchmark
+    public Long groupCommit() throws InterruptedException {
+        OrderTicketDTO ticket;
+        while ((ticket = orderPipelineService.submit(nextCart())) == null) {
+            // queue full: back off like a client honouring Retry-After, only shorter
+            Thread.sleep(1);
+        }
+        OrderTicketDTO status;
+        while ((status = orderPipelineService.getTicket(ticket.getTicket())).getStatus() == OrderTicketDTO.Status.QUEUED) {
+            // parked rather than spinning, so waiting clients leave the CPU to the group-commit writer
+            LockSupport.parkNanos(50_000);
+        }
+        return status.getOrderId();
+    }
+}
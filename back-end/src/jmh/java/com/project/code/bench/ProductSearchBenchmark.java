@@ -0,0 +1,59 @@
+package com.project.code.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.code.Service.TrigramIndex;
+
+// Product name lookups in the trigram index at catalogue sizes up to 1M, without the database.
+// Names are built from the brand/model words of insert_data.sql plus a number, so queries hit realistic posting lists.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ProductSearchBenchmark {
+
+    private static final String[] WORDS = { "galaxy", "iphone", "samsung", "qled", "oled", "dyson", "vacuum", "philips",
+            "purifier", "dell", "xps", "macbook", "pro", "apple", "watch", "sony", "oneplus", "google", "pixel", "bravia",
+            "bose", "soundlink", "washing", "machine", "nespresso", "coffee", "laptop", "predator", "logitech", "master",
+            "quietcomfort", "note", "ipad", "air", "sharp", "roomba", "espresso", "razer", "blade", "raider", "beats" };
+
+    @Param({ "100000", "1000000" })
+    public int products;
+
+    @Param({ "pixel", "pro", "galaxy 12", "ai" })
+    public String query;
+
+    @Param({ "0", "1000" })
+    public int limit;
+
+    private TrigramIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new TrigramIndex();
+        for (int id = 1; id <= products; id++) {
+            index.put(id, WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(1000));
+        }
+    }
+
+    @Benchmark
+    public int search() {
+        return index.search(query, limit).length;
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.code.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.code.Service.PrefixIndex;
+
+// Completions of one keystroke in the prefix index of a store, without the database; sampled so the tail shows.
+// Names are built like those of ProductSearchBenchmark, so short prefixes match large runs of keys.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TypeaheadBenchmark {
+
+    private static final String[] WORDS = { "galaxy", "iphone", "samsung", "qled", "oled", "dyson", "vacuum", "philips",
+            "purifier", "dell", "xps", "macbook", "pro", "apple", "watch", "sony", "oneplus", "google", "pixel", "bravia",
+            "bose", "soundlink", "washing", "machine", "nespresso", "coffee", "laptop", "predator", "logitech", "master",
+            "quietcomfort", "note", "ipad", "air", "sharp", "roomba", "espresso", "razer", "blade", "raider", "beats" };
+
+    @Param({ "10000", "100000" })
+    public int products;
+
+    @Param({ "p", "pix", "galaxy 1" })
+    public String prefix;
+
+    private PrefixIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<PrefixIndex.Item> items = new ArrayList<>(products);
+        for (int id = 1; id <= products; id++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(1000);
+            items.add(new PrefixIndex.Item(id, name, random.nextInt(1000), random.nextInt(100), random.nextInt(500)));
+        }
+        index = new PrefixIndex(items);
+    }
+
+    @Benchmark
+    public int complete() {
+        return index.complete(prefix, 10, true).size();
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.code.Controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.code.Service.OrderHistoryService;
+
+@RestController
+@RequestMapping("/customer")
+public class CustomerController {
+// 1. Set Up the Controller Class:
+//    - Customer-facing reads; the order history replaces walking `Customer.orders`, which is no longer loaded eagerly.
+
+
+// 2. Dependencies:
+//    - `OrderHistoryService` pages through a customer's orders with a keyset cursor.
+    private final OrderHistoryService orderHistoryService;
+
+    public CustomerController(OrderHistoryService orderHistoryService) {
+        this.orderHistoryService = orderHistoryService;
+    }
+
+// 3. Define the `getOrderHistory` Method:
+//    - Annotate with `@GetMapping("/{customerId}/orders")` to return one page of the customer's orders, newest first.
+//    - Accept optional `cursor` (the `nextCursor` of the previous page) and `limit` (default 20) request parameters.
+//    - Return `orders` (id, date, totalPrice, store and `items`) and `nextCursor`, which is `null` on the last page.
+//    - Return `400 Bad Request` with key `Error` for a malformed cursor.
+    @GetMapping("/{customerId}/orders")
+    public ResponseEntity<Map<String, Object>> getOrderHistory(@PathVariable Long customerId,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(orderHistoryService.getHistory(customerId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("Error", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+}
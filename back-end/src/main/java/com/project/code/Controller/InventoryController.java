@@ -6,20 +6,37 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.project.code.Model.CombinedRequest;
 import com.project.code.Model.Inventory;
 import com.project.code.Model.Product;
+import com.project.code.Model.StoreProductView;
 import com.project.code.Repo.InventoryRepository;
 import com.project.code.Repo.ProductRepository;
+import com.project.code.Service.CatalogBitmapIndex;
+import com.project.code.Service.CatalogService;
+import com.project.code.Service.CatalogSnapshots;
+import com.project.code.Service.CatalogVersions;
+import com.project.code.Service.InventoryCache;
+import com.project.code.Service.InventoryLockManager;
+import com.project.code.Service.ProductCache;
+import com.project.code.Service.ProductSearchService;
 import com.project.code.Service.ServiceClass;
+import com.project.code.Service.StockReservationService;
+import com.project.code.Service.TypeaheadService;
 
 @RestController
 @RequestMapping("/inventory")
@@ -35,11 +52,50 @@ public class InventoryController {
 
     @Autowired
     private ServiceClass serviceClass;
+
+    @Autowired
+    private InventoryLockManager inventoryLockManager;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private InventoryCache inventoryCache;
+
+    @Autowired
+    private ProductSearchService productSearchService;
+
+    @Autowired
+    private CatalogBitmapIndex catalogIndex;
+
+    @Autowired
+    private CatalogService catalogService;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private CatalogSnapshots catalogSnapshots;
 // 2. Autowired Dependencies:
 //    - Autowire necessary repositories and services:
 //      - `ProductRepository` will be used to interact with product data (i.e., finding, updating products).
 //      - `InventoryRepository` will handle CRUD operations related to the inventory.
 //      - `ServiceClass` will help with the validation logic (e.g., validating product IDs and inventory data).
+//      - `InventoryLockManager` serializes concurrent changes to the same (store, product) inventory row.
+//      - `InventoryCache` answers (product, store) inventory lookups and is written through on every change.
+//      - `ProductSearchService` answers product name searches from its in-memory trigram index.
+//      - `CatalogBitmapIndex` holds the products each store stocks; it is told of every inventory row added or deleted.
+//      - `CatalogService` pages and streams the products of a store.
+//      - `ProductCache` is invalidated when a product is saved here.
+//      - `TypeaheadService` completes product names per store; it is told of every stock level set here.
+//      - `CatalogVersions` tags the store listings; every product or stock change made here bumps it.
+//      - `CatalogSnapshots` keeps the full listings of the stores read most, already serialized and compressed.
 
 
 // 3. Define the `updateInventory` Method:
@@ -57,20 +113,28 @@ public class InventoryController {
             result.put("message", "ID: " + product.getId() + "doesn't exists");
             return result;
         } 
-        productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productCache.invalidate(saved);
+        productSearchService.indexProduct(saved);
+        catalogVersions.catalogChanged();
         result.put("message", "Successfully updated product");
 
 
         if (inventory != null) {
-            try {
-                boolean validInventory = serviceClass.validateInventory(inventory);
-                if (!validInventory) {
+            try (InventoryLockManager.Lease lease = inventoryLockManager.lock(inventory.getStore().getId(), inventory.getProduct().getId())) {
+                Long productId = inventory.getProduct().getId();
+                Long storeId = inventory.getStore().getId();
+                InventoryCache.CachedInventory existingInventory = inventoryCache.get(productId, storeId);
+                if (existingInventory == null) {
                     result.put("message", "No data available");
                     return result;
                 }
 
-            inventory.setId(inventory.getId());
-            inventoryRepository.save(inventory);
+            // Sets the stock and bumps the row version in one statement, then writes through to the cache
+            inventoryRepository.updateStockLevel(existingInventory.id(), inventory.getStockLevel());
+            inventoryCache.put(productId, storeId, existingInventory.id(), inventory.getStockLevel());
+            typeaheadService.stocked(storeId, productId, inventory.getStockLevel());
+            catalogVersions.storeChanged(storeId);
             } catch (DataIntegrityViolationException e) {
                 result.put("message", "Error: " + e);
                 return result;
@@ -94,14 +158,18 @@ public class InventoryController {
     public Map<String, String> saveInventory(Inventory inventory) {
         Map<String, String> result = new HashMap<>();
         
-        try{
+        try (InventoryLockManager.Lease lease = inventoryLockManager.lock(inventory.getStore().getId(), inventory.getProduct().getId())) {
             boolean existedInventory = serviceClass.validateInventory(inventory);
             if (existedInventory) {
                 result.put("message", "inventory already existed");
                 return result;
             }
 
-            inventoryRepository.save(inventory);
+            Inventory savedInventory = inventoryRepository.save(inventory);
+            inventoryCache.put(inventory.getProduct().getId(), inventory.getStore().getId(), savedInventory.getId(), savedInventory.getStockLevel());
+            catalogIndex.addInventory(inventory.getProduct().getId(), inventory.getStore().getId());
+            typeaheadService.stocked(inventory.getStore().getId(), inventory.getProduct().getId(), savedInventory.getStockLevel());
+            catalogVersions.storeChanged(inventory.getStore().getId());
         } catch (DataIntegrityViolationException e) {
                 result.put("message", "Error: " + e);
                 return result;
@@ -116,31 +184,94 @@ public class InventoryController {
 
 // 5. Define the `getAllProducts` Method:
 //    - This method handles HTTP GET requests to retrieve products for a specific store.
-//    - It uses the `storeId` as a path variable and fetches the list of products from the database for the given store.
+//    - It uses the `storeId` as a path variable and fetches the list of products from the database for the given store,
+//      each with its `stockLevel` in that store (`StoreProductView`).
+//    - With a `cursor` (the `nextCursor` of the previous page) or `limit` request parameter, only one page is returned,
+//      in id order, along with `nextCursor` (`null` on the last page).
 //    - The products are returned in a `Map` with the key `"products"`.
+//    - Every response carries the store's ETag from `CatalogVersions`; while `If-None-Match` still matches it,
+//      answer `304 Not Modified` without querying or serializing anything.
+//    - The full list is sent from the store's snapshot in `CatalogSnapshots` while it is current, gzip-compressed
+//      (`Content-Encoding: gzip`) if the client accepts it; otherwise it is read and serialized as usual.
+//    - The gzip body is a different representation, so it has its own ETag (the store's with `-gz`); `If-None-Match`
+//      with either tag of the current version is answered `304 Not Modified`.
     @GetMapping("/{storeid}")
-    public Map<String, Object> getAllProducts(@PathVariable Long storeId) {
-        List<Product> productList = productRepository.findProductsByStoreId(storeId);
+    public ResponseEntity<?> getAllProducts(@PathVariable("storeid") Long storeId,
+                                            @RequestParam(required = false) Long cursor,
+                                            @RequestParam(required = false) Integer limit,
+                                            WebRequest request) {
+        String tag = catalogVersions.storeTag(storeId);
+        boolean fullList = cursor == null && limit == null;
+        CatalogSnapshots.Snapshot snapshot = fullList ? catalogSnapshots.get(storeId, tag) : null;
+        boolean gzip = snapshot != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String gzipTag = tag.substring(0, tag.length() - 1) + "-gz\"";
+        // The first tag checked is the one the response carries, 304 included: that of the body it stands for
+        String sentTag = gzip ? gzipTag : tag;
+        if (request.checkNotModified(sentTag) || request.checkNotModified(gzip ? tag : gzipTag)) {
+            return null;
+        }
         Map<String, Object> result = new HashMap<>();
-        result.put("product", productList);
-        return result;
+        if (fullList) {
+            if (snapshot != null) {
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (gzip) {
+                    response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                }
+                return response.body(gzip ? snapshot.gzip() : snapshot.json());
+            }
+            result.put("product", productRepository.findStoreViews(storeId));
+            return ResponseEntity.ok(result);
+        }
+        CatalogService.Page<StoreProductView> page = catalogService.storePage(storeId, cursor, limit == null ? 100 : limit);
+        result.put("product", page.products());
+        result.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(result);
+    }
+
+    // Whether an Accept-Encoding header lists gzip, and not with q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+// 5a. Define the `streamProducts` Method:
+//    - Annotate with `@GetMapping("/{storeid}/stream")` to return the same body as `getAllProducts` without paging,
+//      written to the response as the products are read from the database.
+    @GetMapping(value = "/{storeid}/stream", produces = "application/json")
+    public StreamingResponseBody streamProducts(@PathVariable("storeid") Long storeId) {
+        return out -> catalogService.write(storeId, "product", out);
     }
 
 // 6. Define the `getProductName` Method:
 //    - This method handles HTTP GET requests to filter products by category and name.
 //    - If either the category or name is `"null"`, adjust the filtering logic accordingly.
+//    - Category-only filters intersect the store and category bitmaps of `CatalogBitmapIndex` instead of joining `Inventory` to `Product`.
 //    - Return the filtered products in the response with the key `"product"`.
+//    - Answer `304 Not Modified` without a body when `If-None-Match` still matches the store's ETag.
     @GetMapping("/filter/{category}/{name}/{storeid}")
-    public Map<String, Object> getProductName(@PathVariable String category, @PathVariable String name, @PathVariable Long storeId) {
+    public Map<String, Object> getProductName(@PathVariable String category, @PathVariable String name, @PathVariable("storeid") Long storeId,
+                                              WebRequest request) {
+        if (request.checkNotModified(catalogVersions.storeTag(storeId))) {
+            return null;
+        }
         Map<String, Object> result = new HashMap<>();
         if (category.equals("null")) {
-            List<Product> products = productRepository.findByNameLike(storeId, name);
+            List<StoreProductView> products = productSearchService.searchInStore(storeId, name, null);
             result.put("product", products);
         } else if(name.equals("null")) {
-            List<Product> products = productRepository.findByCategoryAndStoreId(category, storeId);
+            List<StoreProductView> products = productSearchService.filter(storeId, category);
             result.put("product", products);
         } else {
-            List<Product> products = productRepository.findByNameAndCategory(storeId, name, category);
+            List<StoreProductView> products = productSearchService.searchInStore(storeId, name, category);
             result.put("product", products);
         }
         return result;
@@ -153,7 +284,27 @@ public class InventoryController {
     @GetMapping("/search/{name}/{storeId}")
     public Map<String, Object> searchProduct(@PathVariable String name, @PathVariable Long storeId) {
         Map<String, Object> result = new HashMap<>();
-        result.put("product", productRepository.findByNameLike(storeId, name));
+        result.put("product", productSearchService.searchInStore(storeId, name, null));
+        return result;
+    }
+
+// 7a. Define the `autocomplete` Method:
+//    - Annotate with `@GetMapping("/autocomplete/{storeId}")` to complete a product name typed in the order form.
+//    - Takes the typed `prefix` and an optional `limit` (default 10) as request parameters.
+//    - Returns the store's products with a word of their name starting with `prefix`, best selling first, from the
+//      in-memory index of `TypeaheadService`; each has `id`, `name`, `price`, `stockLevel` and `sold`.
+//    - Until the index is built, the first `limit` results of `searchProduct` are returned instead.
+//    - The completions are returned in the response with the key `"product"`.
+    @GetMapping("/autocomplete/{storeId}")
+    public Map<String, Object> autocomplete(@PathVariable Long storeId, @RequestParam String prefix,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        Map<String, Object> result = new HashMap<>();
+        List<?> products = typeaheadService.complete(storeId, prefix, limit);
+        if (products == null) {
+            List<StoreProductView> found = productSearchService.searchInStore(storeId, prefix, null);
+            products = found.subList(0, Math.min(Math.max(limit, 0), found.size()));
+        }
+        result.put("product", products);
         return result;
     }
 
@@ -172,6 +323,10 @@ public class InventoryController {
         }
 
         inventoryRepository.deleteByProductId(id);
+        inventoryCache.evictProduct(id);
+        catalogIndex.removeProduct(id, false);
+        typeaheadService.productRemoved(id);
+        catalogVersions.catalogChanged();
         result.put("message", "product ID: " + id + " successfully deleted");
         return result;
     }
@@ -179,11 +334,14 @@ public class InventoryController {
 // 9. Define the `validateQuantity` Method:
 //    - This method handles HTTP GET requests to validate if a specified quantity of a product is available in stock for a given store.
 //    - It checks the inventory for the product in the specified store and compares it to the requested quantity.
+//    - Stock held by open cart reservations is not available.
 //    - If sufficient stock is available, return `true`; otherwise, return `false`.
     @GetMapping("/validate/{quantity}/{storeId}/{productId}")
     public boolean validateQuantity(@PathVariable int quantity, @PathVariable Long storeId, @PathVariable Long productId) {
-        Inventory inventory = inventoryRepository.findByProductIdandStoreId(productId, storeId);
-        if (inventory.getStockLevel() >= quantity) return true;
+        InventoryCache.CachedInventory inventory = inventoryCache.get(productId, storeId);
+        if (inventory == null) return false;
+        int available = inventory.stockLevel() - stockReservationService.reservedQuantity(storeId, productId);
+        if (available >= quantity) return true;
         return false;
     }
 }
@@ -0,0 +1,27 @@
+package com.project.code.Controller;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.project.code.Service.InventoryLockManager;
+
+@Component
+@Endpoint(id = "inventorylocks")
+public class InventoryLockEndpoint {
+// 1. Actuator endpoint `/actuator/inventorylocks`:
+//    - Reports how often each inventory lock stripe was taken and how often a caller had to wait for it.
+
+    private final InventoryLockManager inventoryLockManager;
+
+    public InventoryLockEndpoint(InventoryLockManager inventoryLockManager) {
+        this.inventoryLockManager = inventoryLockManager;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stripes() {
+        return inventoryLockManager.stats();
+    }
+}
@@ -6,12 +6,20 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.project.code.Model.Product;
+import com.project.code.Model.ProductView;
 import com.project.code.Repo.InventoryRepository;
 import com.project.code.Repo.ProductRepository;
+import com.project.code.Service.CatalogService;
+import com.project.code.Service.CatalogVersions;
+import com.project.code.Service.InventoryCache;
+import com.project.code.Service.ProductCache;
+import com.project.code.Service.ProductSearchService;
 import com.project.code.Service.ServiceClass;
 
 @RestController
@@ -27,6 +35,10 @@ public class ProductController {
 //        - `ProductRepository` for CRUD operations on products.
 //        - `ServiceClass` for product validation and business logic.
 //        - `InventoryRepository` for managing the inventory linked to products.
+//        - `ProductSearchService` for name searches, kept in step with every product change.
+//        - `CatalogService` for paged and streamed listings of the whole catalogue.
+//        - `ProductCache` for lookups by id, invalidated on every product change.
+//        - `CatalogVersions` for the ETags of the listings, bumped on every product change.
     @Autowired
     private final ProductRepository productRepository;
 
@@ -36,7 +48,27 @@ public class ProductController {
     @Autowired
     private final InventoryRepository inventoryRepository;
 
-    public ProductController(ProductRepository productRepository, ServiceClass serviceClass, InventoryRepository inventoryRepository) {
+    @Autowired
+    private final InventoryCache inventoryCache;
+
+    @Autowired
+    private final ProductSearchService productSearchService;
+
+    @Autowired
+    private final CatalogService catalogService;
+
+    @Autowired
+    private final ProductCache productCache;
+
+    @Autowired
+    private final CatalogVersions catalogVersions;
+
+    public ProductController(ProductRepository productRepository, ServiceClass serviceClass, InventoryRepository inventoryRepository, InventoryCache inventoryCache, ProductSearchService productSearchService, CatalogService catalogService, ProductCache productCache, CatalogVersions catalogVersions) {
+        this.catalogVersions = catalogVersions;
+        this.productCache = productCache;
+        this.catalogService = catalogService;
+        this.productSearchService = productSearchService;
+        this.inventoryCache = inventoryCache;
         this.inventoryRepository = inventoryRepository;
         this.serviceClass = serviceClass;
         this.productRepository = productRepository;
@@ -58,7 +90,10 @@ public class ProductController {
                 return result;
             }
 
-            productRepository.save(product);
+            Product saved = productRepository.save(product);
+            productCache.invalidate(saved);
+            productSearchService.indexProduct(saved);
+            catalogVersions.catalogChanged();
             result.put("message", "product successfully saved");
             return result;
         } catch (DataIntegrityViolationException e) {
@@ -74,12 +109,12 @@ public class ProductController {
 // 4. Define the `getProductbyId` Method:
 //    - Annotate with `@GetMapping("/product/{id}")` to handle GET requests for retrieving a product by ID.
 //    - Accept product ID via `@PathVariable`.
-//    - Use `findById(id)` method from `ProductRepository` to fetch the product.
+//    - Use `get(id)` method from `ProductCache` to fetch the product's own columns.
 //    - Return the product in a `Map<String, Object>` with key `products`.
     @GetMapping("/product/{id}")
     public Map<String, Object> getProductById(@PathVariable Long id) {
         Map<String,Object> result = new HashMap<>();
-        Product product = productRepository.findById(id).get();
+        ProductView product = productCache.get(id).get();
         result.put("products", product);
         return result;
     }
@@ -99,7 +134,10 @@ public class ProductController {
                 result.put("message", "product is invalid");
                 return result;
             }
-            productRepository.save(product);
+            Product saved = productRepository.save(product);
+            productCache.invalidate(saved);
+            productSearchService.indexProduct(saved);
+            catalogVersions.catalogChanged();
             result.put("message", "product updated successfully");
             return result;
         } catch (DataIntegrityViolationException e) {
@@ -111,46 +149,76 @@ public class ProductController {
 // 6. Define the `filterbyCategoryProduct` Method:
 //    - Annotate with `@GetMapping("/category/{name}/{category}")` to handle GET requests for filtering products by `name` and `category`.
 //    - Use conditional filtering logic if `name` or `category` is `"null"`.
-//    - Fetch products based on category using methods like `findByCategory()` or `findProductBySubNameAndCategory()`.
+//    - Fetch products based on category using methods like `findViewsByCategory()` or `search()` of `ProductSearchService`.
 //    - Return filtered products in a `Map<String, Object>` with key `products`.
+//    - Answer `304 Not Modified` without a body when `If-None-Match` still matches the catalogue's ETag.
     @GetMapping("/category/{name}/{category}")
-    public Map<String, Object> filterbyCategoryProduct(@PathVariable String name, @PathVariable String category) {
+    public Map<String, Object> filterbyCategoryProduct(@PathVariable String name, @PathVariable String category, WebRequest request) {
+        if (request.checkNotModified(catalogVersions.catalogTag())) {
+            return null;
+        }
         Map<String, Object> result = new HashMap<>();
         if(category.equals("null")) {
-            List<Product> products = productRepository.findProductBySubName(name);
+            List<ProductView> products = productSearchService.search(name, null);
             result.put("products", products);
             return result;
         }
         if (name.equals("null")) {
-            List<Product> products = productRepository.findByCategory(category);
+            List<ProductView> products = productRepository.findViewsByCategory(category);
             result.put("products", products);
             return result;
         }
 
-        List<Product> products = productRepository.findProductBySubNameAndCategory(name, category);
+        List<ProductView> products = productSearchService.search(name, category);
         result.put("products", products);
         return result;
     }
 
  // 7. Define the `listProduct` Method:
 //    - Annotate with `@GetMapping` to handle GET requests to fetch all products.
-//    - Fetch all products using `findAll()` method from `ProductRepository`.
-//    - Return all products in a `Map<String, Object>` with key `products`.
+//    - Accept optional `cursor` (the `nextCursor` of the previous page) and `limit` request parameters; with either,
+//      return one page in id order from `page()` of `CatalogService`, with `nextCursor` (`null` on the last page).
+//    - Without them, fetch all products using `findAllViews()` method from `ProductRepository`.
+//    - Return the products in a `Map<String, Object>` with key `products`.
+//    - Every response carries the catalogue's ETag from `CatalogVersions`; while `If-None-Match` still matches it,
+//      answer `304 Not Modified` without querying or serializing anything.
     @GetMapping
-    public Map<String, Object> listProduct() {
+    public Map<String, Object> listProduct(@RequestParam(required = false) Long cursor, @RequestParam(required = false) Integer limit,
+                                           WebRequest request) {
+        if (request.checkNotModified(catalogVersions.catalogTag())) {
+            return null;
+        }
         Map<String, Object> results = new HashMap<>();
-        results.put("products", productRepository.findAll());
+        if (cursor == null && limit == null) {
+            results.put("products", productRepository.findAllViews());
+            return results;
+        }
+        CatalogService.Page<ProductView> page = catalogService.page(cursor, limit == null ? 100 : limit);
+        results.put("products", page.products());
+        results.put("nextCursor", page.nextCursor());
         return results;
     }
 
+// 7a. Define the `streamProducts` Method:
+//    - Annotate with `@GetMapping("/stream")` to return the same body as `listProduct` without paging.
+//    - The products are written to the response as they are read from the database, so the response is never held in memory.
+    @GetMapping(value = "/stream", produces = "application/json")
+    public StreamingResponseBody streamProducts() {
+        return out -> catalogService.write(null, "products", out);
+    }
+
 // 8. Define the `getProductbyCategoryAndStoreId` Method:
 //    - Annotate with `@GetMapping("filter/{category}/{storeid}")` to filter products by `category` and `storeId`.
-//    - Use `findProductByCategory()` method from `ProductRepository` to retrieve products.
+//    - Use `filter()` of `ProductSearchService`, which intersects the store and category bitmaps and fetches only the matching products.
 //    - Return filtered products in a `Map<String, Object>` with key `product`.
+//    - Answer `304 Not Modified` without a body when `If-None-Match` still matches the store's ETag.
     @GetMapping("/filter/{category}/{storeId}")
-    public Map<String, Object> getProductbyCategoryAndStoreId(@PathVariable String category, @PathVariable Long storeId) {
+    public Map<String, Object> getProductbyCategoryAndStoreId(@PathVariable String category, @PathVariable Long storeId, WebRequest request) {
+        if (request.checkNotModified(catalogVersions.storeTag(storeId))) {
+            return null;
+        }
         Map<String, Object> results = new HashMap<>();
-        results.put("products", productRepository.findByCategoryAndStoreId(category, storeId));
+        results.put("products", productSearchService.filter(storeId, category));
         return results;
     
     }
@@ -171,7 +239,11 @@ public class ProductController {
         }
 
         inventoryRepository.deleteByProductId(id);
+        inventoryCache.evictProduct(id);
         productRepository.deleteById(id);
+        productCache.invalidate(id);
+        productSearchService.removeProduct(id);
+        catalogVersions.catalogChanged();
         result.put("message", "product deleted successfully");
         return result;
 
@@ -179,15 +251,35 @@ public class ProductController {
 
  // 10. Define the `searchProduct` Method:
 //    - Annotate with `@GetMapping("/searchProduct/{name}")` to search for products by `name`.
-//    - Use `findProductBySubName()` method from `ProductRepository` to search products by name.
+//    - Use `search()` of `ProductSearchService`, which answers from its trigram index instead of a `LIKE` scan.
 //    - Return search results in a `Map<String, Object>` with key `products`.
     @GetMapping("/searchProduct/{name}") 
     public Map<String, Object> searchProduct(@PathVariable String name) {
         Map<String, Object> result = new HashMap<>();
-        result.put("products", productRepository.findProductBySubName(name));
+        result.put("products", productSearchService.search(name, null));
         return result;
     }
 
+// 11. Define the `getProductsByPrice` Method:
+//    - Annotate with `@GetMapping("/price")` to browse products by price range, cheapest first.
+//    - Accept `min` and `max` (inclusive) and optional `category` and `storeId` request parameters; with a store,
+//      each product carries its `stockLevel` there.
+//    - Use `priceRange()` of `ProductSearchService`, which answers from the in-memory price index.
+//    - Return the products in a `Map<String, Object>` with key `products`, or `400 Bad Request` with key `Error`
+//      if `min` is greater than `max`.
+    @GetMapping("/price")
+    public ResponseEntity<Map<String, Object>> getProductsByPrice(@RequestParam double min, @RequestParam double max,
+                                                                  @RequestParam(required = false) String category,
+                                                                  @RequestParam(required = false) Long storeId) {
+        Map<String, Object> result = new HashMap<>();
+        if (Double.isNaN(min) || Double.isNaN(max) || min > max) {
+            result.put("Error", "min must not be greater than max");
+            return ResponseEntity.badRequest().body(result);
+        }
+        result.put("products", productSearchService.priceRange(min, max, category, storeId));
+        return ResponseEntity.ok(result);
+    }
+
 
 
   
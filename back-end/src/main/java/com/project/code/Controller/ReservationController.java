@@ -0,0 +1,83 @@
+package com.project.code.Controller;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.code.Model.OrderLineFailureDTO;
+import com.project.code.Model.PurchaseProductDTO;
+import com.project.code.Model.ReservationRequestDTO;
+import com.project.code.Service.StockReservationService;
+
+@RestController
+@RequestMapping("/reservation")
+public class ReservationController {
+// 1. Set Up the Controller Class:
+//    - Time-limited stock holds for a cart, placed when items are validated and turned into an order by `placeOrder`.
+
+
+// 2. Dependencies:
+//    - `StockReservationService` keeps the holds in memory and expires them.
+    private final StockReservationService stockReservationService;
+
+    public ReservationController(StockReservationService stockReservationService) {
+        this.stockReservationService = stockReservationService;
+    }
+
+// 3. Define the `reserve` Method:
+//    - Annotate with `@PostMapping` to hold stock for the products of a cart in one store.
+//    - Accept `ReservationRequestDTO` (store, products and quantities, optional `ttlSeconds`) in the request body.
+//    - Return `reservationId` and `expiresAt` (epoch millis), to be sent as `reservationId` with `/store/placeOrder`.
+//    - Return an error message with key `Error` and the failed lines under `failures` if any product cannot be held.
+    @PostMapping
+    public Map<String, Object> reserve(@RequestBody ReservationRequestDTO request) {
+        Map<String, Object> result = new HashMap<>();
+        if (request.getStoreId() == null || request.getPurchaseProduct() == null || request.getPurchaseProduct().isEmpty()) {
+            result.put("Error", "Invalid input: The data provided is not valid.");
+            return result;
+        }
+
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (PurchaseProductDTO productDTO : request.getPurchaseProduct()) {
+            if (productDTO.getId() == null || productDTO.getQuantity() == null || productDTO.getQuantity() <= 0) {
+                result.put("Error", "Invalid product or quantity");
+                return result;
+            }
+            quantities.merge(productDTO.getId(), productDTO.getQuantity(), Integer::sum);
+        }
+
+        List<OrderLineFailureDTO> failures = new ArrayList<>();
+        StockReservationService.Reservation reservation =
+                stockReservationService.reserve(request.getStoreId(), quantities, request.getTtlSeconds(), failures);
+        if (reservation == null) {
+            result.put("Error", "Stock could not be reserved");
+            result.put("failures", failures);
+            return result;
+        }
+        result.put("message", "Stock reserved");
+        result.put("reservationId", reservation.getId());
+        result.put("expiresAt", reservation.getExpiresAt());
+        return result;
+    }
+
+// 4. Define the `release` Method:
+//    - Annotate with `@DeleteMapping("/{reservationId}")` to give the held stock back, e.g. when a cart is emptied.
+    @DeleteMapping("/{reservationId}")
+    public Map<String, String> release(@PathVariable String reservationId) {
+        Map<String, String> result = new HashMap<>();
+        if (stockReservationService.release(reservationId)) {
+            result.put("message", "Reservation released");
+        } else {
+            result.put("message", "Reservation " + reservationId + " not found or already used");
+        }
+        return result;
+    }
+}
@@ -1,20 +1,31 @@
 package com.project.code.Controller;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.project.code.Model.Customer;
 import com.project.code.Model.Review;
-import com.project.code.Repo.CustomerRepository;
 import com.project.code.Repo.ReviewRepository;
+import com.project.code.Service.CustomerNameCache;
+import com.project.code.Service.RatingService;
+import com.project.code.Service.ReviewImportService;
+import com.project.code.Service.ReviewService;
+import com.project.code.Service.TopRatedService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/reviews")
@@ -27,14 +38,29 @@ public class ReviewController {
  // 2. Autowired Dependencies:
 //    - Inject the following dependencies via `@Autowired`:
 //        - `ReviewRepository` for accessing review data.
-//        - `CustomerRepository` for retrieving customer details associated with reviews.
+//        - `CustomerNameCache` for the names of the customers who wrote the reviews, shared across requests.
+//        - `RatingService` for adding and deleting reviews together with the rating summaries of their products.
+//        - `ReviewService` for keyset pages of the reviews of a product.
+//        - `ReviewImportService` for loading a large file of reviews.
+//        - `TopRatedService` for the best rated products of a store.
+    private static final int MAX_RATING_PRODUCTS = 500;
+
     @Autowired
     private final ReviewRepository reviewRepository;
-    private final CustomerRepository customerRepository;
+    private final CustomerNameCache customerNameCache;
+    private final RatingService ratingService;
+    private final ReviewService reviewService;
+    private final ReviewImportService reviewImportService;
+    private final TopRatedService topRatedService;
 
-    public ReviewController(ReviewRepository reviewRepository, CustomerRepository customerRepository) {
+    public ReviewController(ReviewRepository reviewRepository, CustomerNameCache customerNameCache, RatingService ratingService,
+                            ReviewService reviewService, ReviewImportService reviewImportService, TopRatedService topRatedService) {
         this.reviewRepository = reviewRepository;
-        this.customerRepository = customerRepository;
+        this.reviewService = reviewService;
+        this.reviewImportService = reviewImportService;
+        this.topRatedService = topRatedService;
+        this.customerNameCache = customerNameCache;
+        this.ratingService = ratingService;
     }
 
 // 3. Define the `getReviews` Method:
@@ -42,32 +68,152 @@ public class ReviewController {
 //    - Accept `storeId` and `productId` via `@PathVariable`.
 //    - Fetch reviews using `findByStoreIdAndProductId()` method from `ReviewRepository`.
 //    - Filter reviews to include only `comment`, `rating`, and the `customerName` associated with the review.
-//    - Use `findById(review.getCustomerId())` from `CustomerRepository` to get customer name.
+//    - Resolve the customer names of all the reviews at once with `getNames()` of `CustomerNameCache`: cached names,
+//      then one projection query for the rest, so the number of queries does not grow with the number of reviews.
+//    - Reviews of customers that no longer exist show `"Unknown"`.
 //    - Return filtered reviews in a `Map<String, Object>` with key `reviews`.
+//    - With a `cursor` (the `nextCursor` of the previous page) or `limit` request parameter, only one page is returned,
+//      newest first or, with `sort=rating`, best rated first, along with `nextCursor` (`null` on the last page);
+//      each review then also has its `id`. `comments=false` leaves out the `review` texts of a page.
+//    - Return `400 Bad Request` with key `Error` for an unknown `sort` or a malformed cursor.
     @GetMapping("/{storeId}/{productId}")
-    public Map<String, Object> getReviews(@PathVariable Long storeId, @PathVariable Long productId) {
+    public ResponseEntity<Map<String, Object>> getReviews(@PathVariable Long storeId, @PathVariable Long productId,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          @RequestParam(defaultValue = "newest") String sort,
+                                                          @RequestParam(defaultValue = "true") boolean comments) {
         Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> reviewsWithCustomerNames = new ArrayList<>();
+        if (cursor == null && limit == null) {
+            result.put("reviews", withCustomerNames(reviewRepository.findByStoreIdAndProductId(storeId, productId), false));
+            return ResponseEntity.ok(result);
+        }
+        try {
+            ReviewService.Order order = ReviewService.Order.of(sort);
+            ReviewService.Page page = reviewService.page(storeId, productId, order, cursor, limit == null ? 20 : limit, comments);
+            result.put("reviews", withCustomerNames(page.reviews(), true));
+            result.put("nextCursor", page.nextCursor());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            result.put("Error", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
 
-        List<Review> reviews =reviewRepository.findByStoreIdAndProductId(storeId, productId);
+    private List<Map<String, Object>> withCustomerNames(List<Review> reviews, boolean withIds) {
+        List<Map<String, Object>> reviewsWithCustomerNames = new ArrayList<>();
+        Map<Long, String> customerNames = customerNameCache.getNames(reviews.stream().map(Review::getCustomerId).toList());
         for (Review review : reviews) {
             Map<String, Object> reviewMap = new HashMap<>();
+            if (withIds) {
+                reviewMap.put("id", review.getId());
+            }
             reviewMap.put("review", review.getComment());
             reviewMap.put("rating", review.getRating());
-            // Fetch customer details using customerId
-            Customer customer = customerRepository.findById(review.getCustomerId()).get();
-            if (customer != null) {
-                reviewMap.put("customerName", customer.getName());  
-            } else {
-                reviewMap.put("customerName", "Unknown");
-            }
+            reviewMap.put("customerName", customerNames.getOrDefault(review.getCustomerId(), "Unknown"));
             reviewsWithCustomerNames.add(reviewMap);
         }
-        
-        result.put("reviews", reviewsWithCustomerNames);
-         
+        return reviewsWithCustomerNames;
+    }
+
+// 4. Define the `addReview` Method:
+//    - Annotate with `@PostMapping` to add a review of a product in a store.
+//    - Accept `Review` (`customerId`, `productId`, `storeId`, `rating` from 1 to 5, optional `comment`) in the request body.
+//    - Save it with `addReview()` of `RatingService`, which also counts it in the product's rating summary.
+//    - Return the new review's `id` and a `message`, or `400 Bad Request` with key `Error` if a field is missing or out of range.
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> addReview(@RequestBody Review review) {
+        Map<String, Object> result = new HashMap<>();
+        if (review.getCustomerId() == null || review.getProductId() == null || review.getStoreId() == null
+                || review.getRating() < 1 || review.getRating() > 5) {
+            result.put("Error", "customerId, productId, storeId and a rating from 1 to 5 are required");
+            return ResponseEntity.badRequest().body(result);
+        }
+        Review saved = ratingService.addReview(review);
+        result.put("id", saved.getId());
+        result.put("message", "Review added successfully");
+        return ResponseEntity.ok(result);
+    }
+
+// 5. Define the `deleteReview` Method:
+//    - Annotate with `@DeleteMapping("/{id}")` to delete a review by its id.
+//    - Delete it with `deleteReview()` of `RatingService`, which also takes it off the product's rating summary.
+//    - Return a `message` saying whether the review was deleted.
+    @DeleteMapping("/{id}")
+    public Map<String, String> deleteReview(@PathVariable String id) {
+        Map<String, String> result = new HashMap<>();
+        if (!ratingService.deleteReview(id)) {
+            result.put("message", "review ID: " + id + " not existed");
+            return result;
+        }
+        result.put("message", "review ID: " + id + " successfully deleted");
         return result;
     }
-    
-   
+
+// 6. Define the `getRatings` Method:
+//    - Annotate with `@GetMapping("/ratings/{storeId}")` to fetch the rating aggregates of a page of products in one call.
+//    - Accept the products as `productIds` request parameter (comma-separated, at most 500).
+//    - Each aggregate has `productId`, `count`, `average` (`null` without reviews) and `histogram`, the number of
+//      reviews rated 1 to 5, read from the summaries of `RatingService` instead of the reviews.
+//    - Return the aggregates in a `Map<String, Object>` with key `ratings`, or `400 Bad Request` with key `Error`.
+    @GetMapping("/ratings/{storeId}")
+    public ResponseEntity<Map<String, Object>> getRatings(@PathVariable Long storeId, @RequestParam List<Long> productIds) {
+        Map<String, Object> result = new HashMap<>();
+        if (productIds.size() > MAX_RATING_PRODUCTS) {
+            result.put("Error", "at most " + MAX_RATING_PRODUCTS + " productIds per request");
+            return ResponseEntity.badRequest().body(result);
+        }
+        result.put("ratings", ratingService.getAggregates(storeId, productIds));
+        return ResponseEntity.ok(result);
+    }
+
+// 7. Define the `rebuildRatings` Method:
+//    - Annotate with `@PostMapping("/ratings/rebuild")` to recompute every rating summary from the reviews,
+//      e.g. once for reviews written before the summaries existed.
+//    - Return the number of summaries written with key `summaries`.
+    @PostMapping("/ratings/rebuild")
+    public Map<String, Object> rebuildRatings() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("summaries", ratingService.rebuild());
+        return result;
+    }
+
+// 8. Define the `importReviews` Method:
+//    - Annotate with `@PostMapping("/import")` to load a JSON array of reviews, in the format of `reviews.json`, in one request.
+//    - The body is streamed through `importReviews()` of `ReviewImportService`: reviews are validated one at a time and
+//      written in parallel unordered batches, and the rating summaries are updated with them.
+//    - Invalid reviews are skipped and counted; the first ones are listed in `rejects` with their position in the array.
+//      Reviews of a batch whose write failed as a whole may be partly written: they are counted as `unknown` and
+//      their batches listed in `unknownBatches`.
+//    - Return the report (`read`, `inserted`, `rejected`, `unknown`, `rejects`, `unknownBatches`, `millis`,
+//      `reviewsPerSecond`) with key `import`,
+//      or `400 Bad Request` with key `Error` if the body is not a well-formed JSON array.
+    @PostMapping(value = "/import", consumes = "application/json")
+    public ResponseEntity<Map<String, Object>> importReviews(HttpServletRequest request) throws IOException {
+        Map<String, Object> result = new HashMap<>();
+        try {
+            result.put("import", reviewImportService.importReviews(request.getInputStream()));
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            result.put("Error", e.getMessage());
+            return ResponseEntity.badRequest().body(result);
+        }
+    }
+
+// 9. Define the `getTopRated` Method:
+//    - Annotate with `@GetMapping("/top/{storeId}")` to fetch the "top rated in this store" shelf.
+//    - Accept the number of products as optional `limit` request parameter (default 10, at most `review.top-rated.size`).
+//    - Products are ranked by the Bayesian average of their ratings, so a product with a few 5-star reviews does not
+//      outrank one with hundreds of 4-star ones; `getTop()` of `TopRatedService` reads the ranking from memory.
+//    - Return the products (`productId`, `count`, `average`, `score`) best first in a `Map<String, Object>` with key `products`,
+//      or `400 Bad Request` with key `Error` if `limit` is below 1.
+    @GetMapping("/top/{storeId}")
+    public ResponseEntity<Map<String, Object>> getTopRated(@PathVariable Long storeId, @RequestParam(defaultValue = "10") int limit) {
+        Map<String, Object> result = new HashMap<>();
+        if (limit < 1) {
+            result.put("Error", "limit must be at least 1");
+            return ResponseEntity.badRequest().body(result);
+        }
+        result.put("products", topRatedService.getTop(storeId, limit));
+        return ResponseEntity.ok(result);
+    }
 }
@@ -1,20 +1,36 @@
 package com.project.code.Controller;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.code.Model.OrderTicketDTO;
 import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PlaceOrderResultDTO;
 import com.project.code.Model.Store;
+import com.project.code.Model.StoreView;
 import com.project.code.Repo.StoreRepository;
+import com.project.code.Service.BulkOrderService;
+import com.project.code.Service.IdempotencyService;
+import com.project.code.Service.OrderPipelineService;
 import com.project.code.Service.OrderService;
+import com.project.code.Service.StoreSearchService;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/store")
@@ -28,13 +44,26 @@ public class StoreController {
 //    - Inject the following dependencies via `@Autowired`:
 //        - `StoreRepository` for managing store data.
 //        - `OrderService` for handling order-related functionality.
+//        - `StoreSearchService` for store lookups by id and by name or address, from memory.
     @Autowired
     private final StoreRepository storeRepository;
     @Autowired
     private final OrderService orderService;
+    @Autowired
+    private final BulkOrderService bulkOrderService;
+    @Autowired
+    private final OrderPipelineService orderPipelineService;
+    @Autowired
+    private final IdempotencyService idempotencyService;
+    @Autowired
+    private final StoreSearchService storeSearchService;
 
-    public StoreController(StoreRepository storeRepository, OrderService orderService) {
+    public StoreController(StoreRepository storeRepository, OrderService orderService, BulkOrderService bulkOrderService, OrderPipelineService orderPipelineService, IdempotencyService idempotencyService, StoreSearchService storeSearchService) {
+        this.storeSearchService = storeSearchService;
         this.orderService = orderService;
+        this.idempotencyService = idempotencyService;
+        this.bulkOrderService = bulkOrderService;
+        this.orderPipelineService = orderPipelineService;
         this.storeRepository = storeRepository;
     }
 
@@ -50,7 +79,8 @@ public class StoreController {
                 result.put("message", "store already existed");
                 return result;
             }
-            storeRepository.save(store);
+            Store saved = storeRepository.save(store);
+            storeSearchService.indexStore(saved);
             result.put("message", "store added successfully");
             return result;
             
@@ -61,10 +91,23 @@ public class StoreController {
 
  // 4. Define the `validateStore` Method:
 //    - Annotate with `@GetMapping("validate/{storeId}")` to check if a store exists by its `storeId`.
+//    - Answered from the id set of `StoreSearchService`, without a query once it is built.
 //    - Return a **boolean** indicating if the store exists.
     @GetMapping("validate/{storeId}")
     public boolean validateStore(@PathVariable Long storeId) {
-        return storeRepository.findById(storeId).isPresent();    
+        return storeSearchService.exists(storeId);
+    }
+
+ // 4a. Define the `searchStore` Method:
+//    - Annotate with `@GetMapping("/searchStore/{name}")` to find stores by part of their name or address.
+//    - Every word of `name` has to appear in the store's name or address, ignoring case.
+//    - Return the stores (`id`, `name`, `address`), in id order, in a `Map` with the key `"stores"`.
+    @GetMapping("/searchStore/{name}")
+    public Map<String, Object> searchStore(@PathVariable String name) {
+        Map<String, Object> result = new HashMap<>();
+        List<StoreView> stores = storeSearchService.search(name);
+        result.put("stores", stores);
+        return result;
     }
 
  // 5. Define the `placeOrder` Method:
@@ -72,16 +115,79 @@ public class StoreController {
 //    - Accept `PlaceOrderRequestDTO` in the request body.
 //    - Return a success message with key `message` if the order is successfully placed.
 //    - Return an error message with key `Error` if there is an issue processing the order.
+//    - Lines that could not be fulfilled are returned under the key `failures`.
+//    - With `?async=true` (and `order.async.enabled`), the order is only validated and queued for group commit;
+//      the response is `202 Accepted` with a `ticket`, or `503 Service Unavailable` when the queue is full.
+//      Requests carrying an `Idempotency-Key` are always placed synchronously.
+//    - With an `Idempotency-Key` header the order is placed at most once per key and retries get the original
+//      response; reusing a key for a different order is answered with `422 Unprocessable Entity`.
     @PostMapping("/placeOrder")
-    public Map<String, String> placeOrder(@RequestBody PlaceOrderRequestDTO requestDTO) {
-        Map<String, String> result = new HashMap<>();
-        try {
-            orderService.saveOrder(requestDTO);
+    public ResponseEntity<Map<String, Object>> placeOrder(@RequestBody PlaceOrderRequestDTO requestDTO,
+                                                         @RequestParam(defaultValue = "false") boolean async,
+                                                         @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        Map<String, Object> result = new HashMap<>();
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 128)) {
+            result.put("Error", "Invalid Idempotency-Key");
+            return ResponseEntity.badRequest().body(result);
+        }
+        if (async && idempotencyKey == null && orderPipelineService.isEnabled()) {
+            String invalid = orderService.validateRequest(requestDTO);
+            if (invalid != null) {
+                result.put("Error", invalid);
+                return ResponseEntity.ok(result);
+            }
+            OrderTicketDTO ticket = orderPipelineService.submit(requestDTO);
+            if (ticket == null) {
+                result.put("Error", "Too many pending orders, please retry");
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(result);
+            }
+            result.put("message", "Order queued");
+            result.put("ticket", ticket.getTicket());
+            return ResponseEntity.accepted().body(result);
+        }
+
+        PlaceOrderResultDTO orderResult;
+        if (idempotencyKey != null) {
+            try {
+                orderResult = idempotencyService.placeOrder(idempotencyKey, requestDTO);
+            } catch (IdempotencyService.KeyReusedException e) {
+                result.put("Error", e.getMessage());
+                return ResponseEntity.unprocessableEntity().body(result);
+            }
+        } else {
+            orderResult = orderService.saveOrder(requestDTO);
+        }
+        if (orderResult.isSuccess()) {
             result.put("message", "Order Placed successfully");
-        } catch(Error e) {
-            result.put("Error", " " + e);
+            result.put("orderId", orderResult.getOrderId());
+        } else {
+            result.put("Error", orderResult.getError());
+            if (!orderResult.getFailures().isEmpty()) {
+                result.put("failures", orderResult.getFailures());
+            }
         }
-        return result;
+        return ResponseEntity.ok(result);
+    }
+
+ // 5a. Define the `getOrderStatus` Method:
+//    - Annotate with `@GetMapping("/placeOrder/status/{ticket}")` to report the state of an order queued with `?async=true`.
+//    - Status `DURABLE` means the order is committed; `REJECTED` and `FAILED` carry the reason under `error`.
+    @GetMapping("/placeOrder/status/{ticket}")
+    public ResponseEntity<OrderTicketDTO> getOrderStatus(@PathVariable String ticket) {
+        OrderTicketDTO status = orderPipelineService.getTicket(ticket);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+ // 6. Define the `placeOrders` Method:
+//    - Annotate with `@PostMapping("/placeOrder/bulk")` to sync offline orders from POS terminals in one request.
+//    - Accept a streamed body of newline-delimited `PlaceOrderRequestDTO` records (`application/x-ndjson`).
+//    - Stream back one JSON line per record with its input line number and either `orderId` or `Error`.
+    @PostMapping(value = "/placeOrder/bulk", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    public StreamingResponseBody placeOrders(HttpServletRequest request) {
+        return out -> bulkOrderService.placeOrders(request.getInputStream(), out);
     }
 
    
@@ -50,8 +50,9 @@ public class Customer {
 
     // Example: @OneToMany(mappedBy = "customer", fetch = FetchType.EAGER)
     // Example: @JsonManagedReference
-    @OneToMany(mappedBy = "customer", fetch = FetchType.EAGER)
-    @JsonManagedReference
+    // Lazy and left out of JSON: the order history is read page by page through `GET /customer/{id}/orders`
+    @OneToMany(mappedBy = "customer", fetch = FetchType.LAZY)
+    @JsonIgnore
     private List<OrderDetails> orders;
 
 // 6. Getters and Setters:
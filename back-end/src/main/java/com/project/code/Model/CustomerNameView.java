@@ -0,0 +1,7 @@
+package com.project.code.Model;
+
+// Flat projection of a customer's id and name, e.g. to show next to their reviews
+public interface CustomerNameView {
+    Long getId();
+    String getName();
+}
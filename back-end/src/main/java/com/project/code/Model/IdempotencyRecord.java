@@ -0,0 +1,85 @@
+package com.project.code.Model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "idempotency_key", uniqueConstraints = @UniqueConstraint(columnNames = "idempotency_key"))
+public class IdempotencyRecord {
+// 1. Add 'id' field:
+//    - Type: private Long, auto-incremented primary key.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+// 2. Add 'idempotencyKey' field:
+//    - The `Idempotency-Key` header sent with `/store/placeOrder`; the unique constraint lets only one order per key commit.
+    @Column(name = "idempotency_key", nullable = false, length = 128)
+    private String idempotencyKey;
+
+// 3. Add 'requestHash' field:
+//    - SHA-256 of the request body, to refuse a key that is reused for a different order.
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+// 4. Add 'result' field:
+//    - The `PlaceOrderResultDTO` returned for the key, as JSON, replayed to retries.
+    @Lob
+    @Column(nullable = false)
+    private String result;
+
+// 5. Add 'createdAt' field:
+//    - When the key was first used; rows older than `order.idempotency.retention-hours` are purged.
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String idempotencyKey, String requestHash, String result, LocalDateTime createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+        this.result = result;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getRequestHash() {
+        return requestHash;
+    }
+
+    public void setRequestHash(String requestHash) {
+        this.requestHash = requestHash;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -3,6 +3,8 @@ package com.project.code.Model;
 import com.fasterxml.jackson.annotation.*;
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.ColumnDefault;
+
 @Entity
 public class Inventory {
    // 1. Add 'id' field:
@@ -37,6 +39,13 @@ public class Inventory {
 //    - Type: private Integer
 //    - This field will represent the current stock level of the product at the store.
     private int stockLevel;
+
+// 4a. Add 'version' field:
+//    - Type: private int
+//    - Optimistic lock column, checked by Hibernate on every entity update and bumped by the atomic stock decrement.
+    @Version
+    @ColumnDefault("0")
+    private int version;
     
 
 // 5. Add relationships:
@@ -51,6 +60,8 @@ public class Inventory {
 
 // 7. Create a constructor:
 //    - Add a constructor that takes a Product, Store, and Integer stockLevel to initialize the Inventory object.
+    public Inventory() {}
+
     public Inventory(Product product, Store store, int stockLevel) {
         this.product = product;
         this.store = store;
@@ -96,5 +107,12 @@ public class Inventory {
     public void setStockLevel(int stockLevel) {
         this.stockLevel = stockLevel;
     }
-}
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+}
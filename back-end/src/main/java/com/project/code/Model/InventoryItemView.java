@@ -0,0 +1,11 @@
+package com.project.code.Model;
+
+// Flat projection of an inventory row with the name and price of its product
+public interface InventoryItemView {
+    Long getId();
+    Long getStoreId();
+    Long getProductId();
+    String getName();
+    Double getPrice();
+    Integer getStockLevel();
+}
@@ -0,0 +1,8 @@
+package com.project.code.Model;
+
+// Flat projection of which product an inventory row stocks in which store
+public interface InventoryKeyView {
+    Long getId();
+    Long getProductId();
+    Long getStoreId();
+}
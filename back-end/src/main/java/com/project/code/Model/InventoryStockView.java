@@ -0,0 +1,8 @@
+package com.project.code.Model;
+
+// Flat projection of an inventory row: no Product or Store entity is loaded
+public interface InventoryStockView {
+    Long getId();
+    Long getProductId();
+    int getStockLevel();
+}
@@ -9,6 +9,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_order_details_customer_date", columnList = "customer_id, date, id"))
 public class OrderDetails {
 
 // 1. Add 'id' field:
@@ -55,8 +56,9 @@ public class OrderDetails {
 //    - This field represents the list of items in the order.
 //    - Use @OneToMany(mappedBy = "order", fetch = FetchType.EAGER) to establish the one-to-many relationship with OrderItem.
 //    - Apply @JsonManagedReference to prevent circular references during JSON serialization.
-    @OneToMany(mappedBy = "order", fetch = FetchType.EAGER)
-    @JsonManagedReference
+    // Lazy and left out of JSON: order lines are read as `OrderLineView` projections with the order history
+    @OneToMany(mappedBy = "order", fetch = FetchType.LAZY)
+    @JsonIgnore
     private List<OrderItem> orderItems;
 
 
@@ -0,0 +1,12 @@
+package com.project.code.Model;
+
+import java.time.LocalDateTime;
+
+// Flat projection of one order in a customer's history: no Customer, Store or OrderItem entity is loaded
+public interface OrderHistoryView {
+    Long getId();
+    LocalDateTime getDate();
+    double getTotalPrice();
+    Long getStoreId();
+    String getStoreName();
+}
@@ -70,6 +70,14 @@ public class OrderItem {
         this.id = id;
     }
 
+    public OrderDetails getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderDetails order) {
+        this.order = order;
+    }
+
     public Product getProduct() {
         return product;
     }
@@ -0,0 +1,32 @@
+package com.project.code.Model;
+
+
+public class OrderLineFailureDTO {
+    private Long productId;
+    private String reason;
+
+    public OrderLineFailureDTO() {}
+
+    public OrderLineFailureDTO(Long productId, String reason) {
+        this.productId = productId;
+        this.reason = reason;
+    }
+
+    // Getters and Setters
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
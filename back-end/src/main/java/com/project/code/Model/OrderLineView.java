@@ -0,0 +1,10 @@
+package com.project.code.Model;
+
+// Flat projection of one order line, with the product name
+public interface OrderLineView {
+    Long getOrderId();
+    Long getProductId();
+    String getProductName();
+    int getQuantity();
+    double getPrice();
+}
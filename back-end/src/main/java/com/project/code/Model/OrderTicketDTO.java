@@ -0,0 +1,63 @@
+package com.project.code.Model;
+
+import java.util.List;
+
+public class OrderTicketDTO {
+
+    public enum Status { QUEUED, DURABLE, REJECTED, FAILED }
+
+    private String ticket;
+    private Status status;
+    private Long orderId;
+    private String error;
+    private List<OrderLineFailureDTO> failures;
+
+    public OrderTicketDTO() {}
+
+    public OrderTicketDTO(String ticket, Status status) {
+        this.ticket = ticket;
+        this.status = status;
+    }
+
+    // Getters and Setters
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public void setTicket(String ticket) {
+        this.ticket = ticket;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<OrderLineFailureDTO> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<OrderLineFailureDTO> failures) {
+        this.failures = failures;
+    }
+}
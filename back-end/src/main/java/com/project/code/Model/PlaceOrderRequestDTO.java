@@ -11,6 +11,7 @@ public class PlaceOrderRequestDTO {
     private String datetime;
     private List<PurchaseProductDTO> purchaseProduct;
     private Double totalPrice;
+    private String reservationId;
 
     // Getters and Setters
 
@@ -69,4 +70,12 @@ public class PlaceOrderRequestDTO {
     public void setTotalPrice(Double totalPrice) {
         this.totalPrice = totalPrice;
     }
+
+    public String getReservationId() {
+        return reservationId;
+    }
+
+    public void setReservationId(String reservationId) {
+        this.reservationId = reservationId;
+    }
 }
@@ -0,0 +1,40 @@
+package com.project.code.Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlaceOrderResultDTO {
+    private Long orderId;
+    private String error;
+    private List<OrderLineFailureDTO> failures = new ArrayList<>();
+
+    // Getters and Setters
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<OrderLineFailureDTO> getFailures() {
+        return failures;
+    }
+
+    public void setFailures(List<OrderLineFailureDTO> failures) {
+        this.failures = failures;
+    }
+
+    public boolean isSuccess() {
+        return orderId != null && failures.isEmpty();
+    }
+}
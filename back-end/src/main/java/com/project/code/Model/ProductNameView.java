@@ -0,0 +1,8 @@
+package com.project.code.Model;
+
+// Flat projection of a product's id, name and category, used to build the in-memory search indexes
+public interface ProductNameView {
+    Long getId();
+    String getName();
+    String getCategory();
+}
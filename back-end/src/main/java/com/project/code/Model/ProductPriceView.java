@@ -0,0 +1,7 @@
+package com.project.code.Model;
+
+// Flat projection of a product's id and price, used to build the price index
+public interface ProductPriceView {
+    Long getId();
+    Double getPrice();
+}
@@ -0,0 +1,8 @@
+package com.project.code.Model;
+
+// Units of one product sold by one store, over all its orders
+public interface ProductSalesView {
+    Long getStoreId();
+    Long getProductId();
+    Long getQuantity();
+}
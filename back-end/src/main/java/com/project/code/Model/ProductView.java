@@ -0,0 +1,14 @@
+package com.project.code.Model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// Flat projection of a product's own columns, returned by the product read endpoints instead of the entity
+// (which would load and serialize the inventory of every store)
+@JsonPropertyOrder({"id", "name", "category", "price", "sku"})
+public interface ProductView {
+    Long getId();
+    String getName();
+    String getCategory();
+    Double getPrice();
+    String getSku();
+}
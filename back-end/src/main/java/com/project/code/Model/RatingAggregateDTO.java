@@ -0,0 +1,61 @@
+package com.project.code.Model;
+
+// Average rating and star histogram of one product in one store
+public class RatingAggregateDTO {
+    private Long productId;
+    private long count;
+    // `null` when the product has no reviews
+    private Double average;
+    // Number of reviews rated 1 to 5, in that order
+    private long[] histogram;
+
+    public RatingAggregateDTO() {}
+
+    public RatingAggregateDTO(Long productId, long count, Double average, long[] histogram) {
+        this.productId = productId;
+        this.count = count;
+        this.average = average;
+        this.histogram = histogram;
+    }
+
+    public static RatingAggregateDTO of(Long productId, RatingSummary summary) {
+        if (summary == null || summary.getCount() <= 0) {
+            return new RatingAggregateDTO(productId, 0, null, new long[5]);
+        }
+        return new RatingAggregateDTO(productId, summary.getCount(), (double) summary.getSum() / summary.getCount(), summary.getHistogram());
+    }
+
+    // Getters and Setters
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    public long[] getHistogram() {
+        return histogram;
+    }
+
+    public void setHistogram(long[] histogram) {
+        this.histogram = histogram;
+    }
+}
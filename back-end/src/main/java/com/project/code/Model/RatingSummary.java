@@ -0,0 +1,101 @@
+package com.project.code.Model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+// Running totals of the reviews of one product in one store, kept in step with every review added or deleted.
+// One small document per (store, product) with one-letter field names; the histogram is five counters rather than
+// an array so an upsert can `$inc` a bucket of a document that does not exist yet. A rebuild also stamps each summary
+// it writes with its generation in `g` (not mapped), to drop the summaries it did not write.
+@Document(collection = "rating_summaries")
+public class RatingSummary {
+
+    // "<storeId>:<productId>"
+    @Id
+    private String id;
+
+    @Field("s")
+    private Long storeId;
+
+    @Field("p")
+    private Long productId;
+
+    // Number of reviews and sum of their ratings
+    @Field("n")
+    private long count;
+
+    @Field("t")
+    private long sum;
+
+    // Number of reviews rated 1 to 5
+    @Field("r1")
+    private long ones;
+
+    @Field("r2")
+    private long twos;
+
+    @Field("r3")
+    private long threes;
+
+    @Field("r4")
+    private long fours;
+
+    @Field("r5")
+    private long fives;
+
+    public RatingSummary() {}
+
+    public static String key(Long storeId, Long productId) {
+        return storeId + ":" + productId;
+    }
+
+    // Field holding the number of reviews rated `rating` (1 to 5)
+    public static String bucket(int rating) {
+        return "r" + rating;
+    }
+
+    public long[] getHistogram() {
+        return new long[] { ones, twos, threes, fours, fives };
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(Long storeId) {
+        this.storeId = storeId;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public void setSum(long sum) {
+        this.sum = sum;
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.code.Model;
+
+
+import java.util.List;
+
+public class ReservationRequestDTO {
+    private Long storeId;
+    private List<PurchaseProductDTO> purchaseProduct;
+    private Integer ttlSeconds;
+
+    // Getters and Setters
+
+    public Long getStoreId() {
+        return storeId;
+    }
+
+    public void setStoreId(Long storeId) {
+        this.storeId = storeId;
+    }
+
+    public List<PurchaseProductDTO> getPurchaseProduct() {
+        return purchaseProduct;
+    }
+
+    public void setPurchaseProduct(List<PurchaseProductDTO> purchaseProduct) {
+        this.purchaseProduct = purchaseProduct;
+    }
+
+    public Integer getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Integer ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+}
@@ -37,6 +37,8 @@ public class Review {
 //    - This field represents the rating given to the product (out of 5).
 //    - This field cannot be empty, use the @NotNull annotation to enforce this rule.
     @NotNull(message = "rating cannot be null")
+    @Min(value = 1, message = "rating must be between 1 and 5")
+    @Max(value = 5, message = "rating must be between 1 and 5")
     private int rating;
 // 5. Add 'comment' field:
 //    - Type: private String
@@ -51,6 +53,8 @@ public class Review {
 
 // 8. Add constructor:
 //    - The constructor should accept values for customerId, productId, storeId, rating, and an optional comment.
+    public Review() {}
+
     public Review(Long customerId, Long productId, Long storeId, int rating) {
         this.customerId = customerId;
         this.productId = productId;
@@ -63,6 +67,10 @@ public class Review {
 
 // 10. Add Getters and Setters:
 //    - Add getter and setter methods for all fields (customerId, productId, storeId, rating, comment).
+    public String getId() {
+        return id;
+    }
+
     public Long getCustomerId() {
         return customerId;
     }
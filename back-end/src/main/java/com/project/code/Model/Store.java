@@ -44,6 +44,8 @@ public class Store {
 
 // 5. Add constructor:
 //    - Create a constructor that accepts name and address as parameters to initialize the Store object.
+    public Store() {}
+
     public Store(String name, String address) {
         this.name = name;
         this.address = address;
@@ -0,0 +1,9 @@
+package com.project.code.Model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// A product as stocked by one store: its own columns and the store's stock level
+@JsonPropertyOrder({"id", "name", "category", "price", "sku", "stockLevel"})
+public interface StoreProductView extends ProductView {
+    Integer getStockLevel();
+}
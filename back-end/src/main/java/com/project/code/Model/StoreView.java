@@ -0,0 +1,11 @@
+package com.project.code.Model;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+// Flat projection of a store's own columns, without its inventory
+@JsonPropertyOrder({ "id", "name", "address" })
+public interface StoreView {
+    Long getId();
+    String getName();
+    String getAddress();
+}
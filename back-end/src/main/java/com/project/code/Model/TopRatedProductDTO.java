@@ -0,0 +1,54 @@
+package com.project.code.Model;
+
+// One product of a store's "top rated" shelf, ranked by the Bayesian average of its ratings
+public class TopRatedProductDTO {
+    private Long productId;
+    private long count;
+    // Plain average of the product's ratings
+    private double average;
+    // Average pulled towards the mean of all reviews, the less so the more reviews the product has
+    private double score;
+
+    public TopRatedProductDTO() {}
+
+    public TopRatedProductDTO(Long productId, long count, double average, double score) {
+        this.productId = productId;
+        this.count = count;
+        this.average = average;
+        this.score = score;
+    }
+
+    // Getters and Setters
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getAverage() {
+        return average;
+    }
+
+    public void setAverage(double average) {
+        this.average = average;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
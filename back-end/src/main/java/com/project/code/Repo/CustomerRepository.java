@@ -1,12 +1,15 @@
 package com.project.code.Repo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.project.code.Model.Customer;
+import com.project.code.Model.CustomerNameView;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
@@ -42,6 +45,17 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 // Example: public List<Customer> findByName(String name);
     public List<Customer> findByName(String name); 
 
+//    - **findByEmailIn**:
+//      - Looks up the customers of a whole batch of orders in one query.
+    public List<Customer> findByEmailIn(Collection<String> emails);
+
+//    - **findNamesByIdIn**:
+//      - Id and name of a set of customers in one query, without loading the entities.
+//      - Return type: List<CustomerNameView>
+//      - Parameter: Collection<Long> ids
+    @Query("SELECT c.id AS id, c.name AS name FROM Customer c WHERE c.id IN :ids")
+    public List<CustomerNameView> findNamesByIdIn(Collection<Long> ids);
+
 // 4. Add @Repository annotation:
 //    - Mark the interface with @Repository to indicate that it's a Spring Data JPA repository.
 //    - This annotation is optional if you extend JpaRepository, as Spring Data automatically registers the repository, but it's good practice to add it for clarity.
@@ -0,0 +1,28 @@
+package com.project.code.Repo;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.stereotype.Repository;
+
+import com.project.code.Model.IdempotencyRecord;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+//    - **findByIdempotencyKey**:
+//      - The stored result of an `Idempotency-Key`, if an order was already placed with it.
+//      - Return type: IdempotencyRecord (null if the key is unknown)
+//      - Parameter: String idempotencyKey
+    public IdempotencyRecord findByIdempotencyKey(String idempotencyKey);
+
+//    - **deleteOlderThan**:
+//      - Purges keys past their retention in one statement.
+//      - Return type: int (number of rows deleted)
+//      - Parameter: LocalDateTime cutoff
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    public int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -1,11 +1,16 @@
 package com.project.code.Repo;
 
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
 import com.project.code.Model.Inventory;
+import com.project.code.Model.InventoryItemView;
+import com.project.code.Model.InventoryKeyView;
+import com.project.code.Model.InventoryStockView;
 
 import jakarta.transaction.Transactional;
 
@@ -29,6 +34,72 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long>{
     
 // Example: public Inventory findByProductIdandStoreId(Long productId, Long storeId);
 
+//    - **findByStoreIdAndProductIds**:
+//      - Loads every inventory row of one store for a set of products in a single query (used when placing an order).
+//      - Return type: List<Inventory>
+//      - Parameters: Long storeId, Collection<Long> productIds
+    @Query("SELECT i FROM Inventory i WHERE i.store.id = :storeId AND i.product.id IN :productIds")
+    public List<Inventory> findByStoreIdAndProductIds(Long storeId, Collection<Long> productIds);
+
+//    - **findStockByStoreIdAndProductIds**:
+//      - Same rows as `findByStoreIdAndProductIds`, but only id, product id and stock level (used by the inventory cache).
+//      - Return type: List<InventoryStockView>
+//      - Parameters: Long storeId, Collection<Long> productIds
+    @Query("SELECT i.id AS id, i.product.id AS productId, i.stockLevel AS stockLevel FROM Inventory i " +
+           "WHERE i.store.id = :storeId AND i.product.id IN :productIds")
+    public List<InventoryStockView> findStockByStoreIdAndProductIds(Long storeId, Collection<Long> productIds);
+
+//    - **updateStockLevel**:
+//      - Sets the stock level of one inventory row by id without loading it first.
+//      - Return type: int (number of rows updated)
+//      - Parameters: Long id, int stockLevel
+    @Modifying
+    @Transactional
+    @Query("UPDATE Inventory i SET i.stockLevel = :stockLevel, i.version = i.version + 1 WHERE i.id = :id")
+    public int updateStockLevel(Long id, int stockLevel);
+
+//    - **decrementStock**:
+//      - Atomically takes `quantity` off the stock of one (product, store) row, only if enough stock is left.
+//      - Also bumps the optimistic lock version so concurrent entity updates notice the change.
+//      - Return type: int (1 if the stock was decremented, 0 if the row is missing or has too little stock)
+//      - Parameters: Long productId, Long storeId, int quantity
+    @Modifying
+    @Query("UPDATE Inventory i SET i.stockLevel = i.stockLevel - :quantity, i.version = i.version + 1 " +
+           "WHERE i.product.id = :productId AND i.store.id = :storeId AND i.stockLevel >= :quantity")
+    public int decrementStock(Long productId, Long storeId, int quantity);
+
+//    - **restoreStock**:
+//      - Puts `quantity` back on one (product, store) row, undoing a `decrementStock` of an order that could not be completed.
+//      - Return type: int (number of rows updated)
+//      - Parameters: Long productId, Long storeId, int quantity
+    @Modifying
+    @Query("UPDATE Inventory i SET i.stockLevel = i.stockLevel + :quantity, i.version = i.version + 1 " +
+           "WHERE i.product.id = :productId AND i.store.id = :storeId")
+    public int restoreStock(Long productId, Long storeId, int quantity);
+
+//    - **findProductIdsByStoreId**:
+//      - Ids of the products a store stocks, without loading them.
+//      - Return type: List<Long>
+//      - Parameter: Long storeId
+    @Query("SELECT i.product.id FROM Inventory i WHERE i.store.id = :storeId")
+    public List<Long> findProductIdsByStoreId(Long storeId);
+
+//    - **findKeysAfter**:
+//      - (product, store) of the inventory rows after `id`, in id order; pages through the inventory to build the bitmap index.
+//      - Return type: List<InventoryKeyView>
+//      - Parameters: Long id, Limit limit
+    @Query("SELECT i.id AS id, i.product.id AS productId, i.store.id AS storeId FROM Inventory i WHERE i.id > :id ORDER BY i.id")
+    public List<InventoryKeyView> findKeysAfter(Long id, Limit limit);
+
+//    - **findItemsAfter**:
+//      - The inventory rows after `id` in id order, with their store and the name and price of their product;
+//        pages through the inventory to build the typeahead indexes.
+//      - Return type: List<InventoryItemView>
+//      - Parameters: Long id, Limit limit
+    @Query("SELECT i.id AS id, i.store.id AS storeId, p.id AS productId, p.name AS name, p.price AS price, " +
+           "i.stockLevel AS stockLevel FROM Inventory i JOIN i.product p WHERE i.id > :id ORDER BY i.id")
+    public List<InventoryItemView> findItemsAfter(Long id, Limit limit);
+
 //    - **findByStore_Id**:
 //      - This method will allow you to find a list of inventory records for a specific store.
 //      - Return type: List<Inventory>
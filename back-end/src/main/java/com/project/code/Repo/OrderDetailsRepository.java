@@ -1,8 +1,14 @@
 package com.project.code.Repo;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.project.code.Model.OrderDetails;
+import com.project.code.Model.OrderHistoryView;
 
 public interface OrderDetailsRepository extends JpaRepository<OrderDetails, Long>{
 // 1. Add the repository interface:
@@ -13,5 +19,21 @@ public interface OrderDetailsRepository extends JpaRepository<OrderDetails, Long
 
 // 2. Since no custom methods are required for this repository, the default CRUD operations (save, delete, update, findById, etc.) are available out of the box.
 
-}
+// 3. Add order history queries:
+//    - Newest orders of a customer first, ordered by (date, id) and served by the (customer_id, date, id) index.
+//    - **findHistory**: the first page.
+//    - **findHistoryBefore**: the page after the keyset cursor (date, id) of the last order already returned, so
+//      a page costs the same however far back it is.
+//      - Return type: List<OrderHistoryView>
+//      - Parameters: Long customerId, [LocalDateTime date, Long id,] Limit limit
+    @Query("SELECT o.id AS id, o.date AS date, o.totalPrice AS totalPrice, s.id AS storeId, s.name AS storeName " +
+           "FROM OrderDetails o JOIN o.store s WHERE o.customer.id = :customerId " +
+           "ORDER BY o.date DESC, o.id DESC")
+    public List<OrderHistoryView> findHistory(Long customerId, Limit limit);
 
+    @Query("SELECT o.id AS id, o.date AS date, o.totalPrice AS totalPrice, s.id AS storeId, s.name AS storeName " +
+           "FROM OrderDetails o JOIN o.store s WHERE o.customer.id = :customerId " +
+           "AND (o.date < :date OR (o.date = :date AND o.id < :id)) " +
+           "ORDER BY o.date DESC, o.id DESC")
+    public List<OrderHistoryView> findHistoryBefore(Long customerId, LocalDateTime date, Long id, Limit limit);
+}
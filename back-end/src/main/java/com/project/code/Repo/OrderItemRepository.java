@@ -1,8 +1,14 @@
 package com.project.code.Repo;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import com.project.code.Model.OrderItem;
+import com.project.code.Model.OrderLineView;
+import com.project.code.Model.ProductSalesView;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long>{
 // 1. Add the repository interface:
@@ -13,6 +19,18 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, Long>{
 
 // 2. Since no custom methods are required for this repository, the default CRUD operations (save, delete, update, findById, etc.) are available out of the box.
 
+// 3. Add **findLinesByOrderIds**:
+//    - The lines of a page of orders in one query, as flat projections.
+//    - Return type: List<OrderLineView>
+//    - Parameter: Collection<Long> orderIds
+    @Query("SELECT i.order.id AS orderId, p.id AS productId, p.name AS productName, i.quantity AS quantity, i.price AS price " +
+           "FROM OrderItem i JOIN i.product p WHERE i.order.id IN :orderIds ORDER BY i.order.id, i.id")
+    public List<OrderLineView> findLinesByOrderIds(Collection<Long> orderIds);
+
+// 4. Add **findSalesByStoreAndProduct**:
+//    - Units sold of every product by every store, summed over all order lines; ranks typeahead completions.
+//    - Return type: List<ProductSalesView>
+    @Query("SELECT i.order.store.id AS storeId, i.product.id AS productId, SUM(i.quantity) AS quantity " +
+           "FROM OrderItem i GROUP BY i.order.store.id, i.product.id")
+    public List<ProductSalesView> findSalesByStoreAndProduct();
 }
-
-
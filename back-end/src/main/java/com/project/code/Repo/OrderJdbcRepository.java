@@ -0,0 +1,88 @@
+package com.project.code.Repo;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.project.code.Model.OrderDetails;
+import com.project.code.Model.OrderItem;
+
+@Repository
+public class OrderJdbcRepository {
+
+    private static final String INSERT_ORDER_DETAILS =
+            "INSERT INTO order_details (customer_id, store_id, total_price, date) VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_ITEM =
+            "INSERT INTO order_item (order_id, product_id, quantity, price) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+// 1. **batchInsertOrders Method**:
+//    - Writes a list of orders in a single JDBC batch and sets the generated id on every `OrderDetails`.
+//    - Runs on the connection of the surrounding JPA transaction.
+//    - Parameters: `List<OrderDetails> orders`
+    public void batchInsertOrders(List<OrderDetails> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ORDER_DETAILS, Statement.RETURN_GENERATED_KEYS)) {
+                for (OrderDetails order : orders) {
+                    ps.setLong(1, order.getCustomer().getId());
+                    ps.setLong(2, order.getStore().getId());
+                    ps.setDouble(3, order.getTotalPrice());
+                    ps.setTimestamp(4, Timestamp.valueOf(order.getDate()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (OrderDetails order : orders) {
+                        if (!keys.next()) {
+                            throw new SQLException("Missing generated key for order_details batch");
+                        }
+                        order.setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+// 2. **batchInsertOrderItems Method**:
+//    - Writes the items of one or more orders in a single JDBC batch instead of one `orderItemRepository.save()` per line.
+//    - Every item must reference an order that already has its id.
+//    - Parameters: `List<OrderItem> items`
+    public void batchInsertOrderItems(List<OrderItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                OrderItem item = items.get(i);
+                ps.setLong(1, item.getOrder().getId());
+                ps.setLong(2, item.getProduct().getId());
+                ps.setInt(3, item.getQuantity());
+                ps.setDouble(4, item.getPrice());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return items.size();
+            }
+        });
+    }
+}
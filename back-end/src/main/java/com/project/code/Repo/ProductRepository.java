@@ -1,10 +1,21 @@
 package com.project.code.Repo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
 
 import com.project.code.Model.Product;
+import com.project.code.Model.ProductNameView;
+import com.project.code.Model.ProductPriceView;
+import com.project.code.Model.ProductView;
+import com.project.code.Model.StoreProductView;
+
+import jakarta.persistence.QueryHint;
 
 public interface ProductRepository extends JpaRepository<Product,Long>{
 // 1. Add the repository interface:
@@ -58,29 +69,144 @@ public interface ProductRepository extends JpaRepository<Product,Long>{
 //      - Return type: List<Product>
 //      - Parameters: Long storeId, String pname
 //      - Use @Query annotation to write a custom query.
-    @Query("SELECT i.product FROM Inventory Where i.store.id = :storeId AND LOWER(i.product.name) LIKE LOWER(CONCAT('%', :pname, '%')")
+    @Query("SELECT i.product FROM Inventory i WHERE i.store.id = :storeId AND LOWER(i.product.name) LIKE LOWER(CONCAT('%', :pname, '%'))")
     public List<Product> findByNameLike(Long storeId, String pname);
 
-    @Query("SELECT i.product FROM Inventory Where i.store.id = :storeId AND LOWER(i.product.name) LIKE LOWER(CONCAT('%', :pname, '%') AND i.product.catrogry = :category")
+    @Query("SELECT i.product FROM Inventory i WHERE i.store.id = :storeId AND LOWER(i.product.name) LIKE LOWER(CONCAT('%', :pname, '%')) AND i.product.category = :category")
     public List<Product> findByNameAndCategory(Long storeId, String pname, String category);
 
-    @Query("SELECT i.product FROM Inventory WHERE i.product.category = :category AND i.store.id = :storeId")
+    @Query("SELECT i.product FROM Inventory i WHERE i.product.category = :category AND i.store.id = :storeId")
     public List<Product> findByProductIdandStoreId(String category, Long storeId);
 
-    @Query("SELECT i.product FROM Inventory WHERE i.store.id = :storeId AND i.product.cateogry = :category")
+    @Query("SELECT i.product FROM Inventory i WHERE i.store.id = :storeId AND i.product.category = :category")
     public List<Product> findByCategoryAndStoreId(String category, Long storeId);
     
-    @Query("SELECT i.product FROM INVENTORY WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :pname, '%'))")
+    @Query("SELECT p FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :pname, '%'))")
     public List<Product> findProductBySubName(String pname);
 
-    @Query("SELECT i.product FROM Inventory where i.store.id = :storeId")
+    @Query("SELECT i.product FROM Inventory i WHERE i.store.id = :storeId")
     public List<Product> findProductsByStoreId(Long storeId);
 
-    @Query("SELECT i.product from Inventory where i.product.cateogry = :category AND i.store.id = :storeId")
+    @Query("SELECT i.product FROM Inventory i WHERE i.product.category = :category AND i.store.id = :storeId")
     public List<Product> findProductByCategory(String category, Long storeId);
 
     @Query("SELECT i FROM Product i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :pname, '%')) AND i.category = :category")
     public List<Product> findProductBySubNameAndCategory(String pname, String category);
 
+//    - **findNamesAfter**:
+//      - Id, name and category of the products after `id`, in id order; pages through the catalogue to build the search indexes.
+//      - Return type: List<ProductNameView>
+//      - Parameters: Long id, Limit limit
+    @Query("SELECT p.id AS id, p.name AS name, p.category AS category FROM Product p WHERE p.id > :id ORDER BY p.id")
+    public List<ProductNameView> findNamesAfter(Long id, Limit limit);
+
+//    - **findPricesAfter**:
+//      - Id and price of the products after `id`, in id order; pages through the catalogue to build the price index.
+//      - Return type: List<ProductPriceView>
+//      - Parameters: Long id, Limit limit
+    @Query("SELECT p.id AS id, p.price AS price FROM Product p WHERE p.id > :id ORDER BY p.id")
+    public List<ProductPriceView> findPricesAfter(Long id, Limit limit);
+
+//    - **findPricesByIdIn**:
+//      - Id and price of the given products (those that still exist); the current prices of the products the price index was told changed.
+//      - Return type: List<ProductPriceView>
+//      - Parameters: Collection<Long> ids
+    @Query("SELECT p.id AS id, p.price AS price FROM Product p WHERE p.id IN :ids")
+    public List<ProductPriceView> findPricesByIdIn(Collection<Long> ids);
+
+// 3. Read projections:
+//    - Flat selects of the product columns, plus the store's stock level for the store queries; nothing is loaded
+//      into the persistence context, and the `Inventory` rows of other stores are never read.
+    String PRODUCT_COLUMNS = "p.id AS id, p.name AS name, p.category AS category, p.price AS price, p.sku AS sku";
+    String STORE_PRODUCT_COLUMNS = PRODUCT_COLUMNS + ", i.stockLevel AS stockLevel";
+
+//    - **findViewById** / **findViewsByIdIn**:
+//      - Return type: Optional<ProductView> / List<ProductView>
+//      - Parameters: Long id / Collection<Long> ids
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE p.id = :id")
+    public Optional<ProductView> findViewById(Long id);
+
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE p.id IN :ids")
+    public List<ProductView> findViewsByIdIn(Collection<Long> ids);
+
+//    - **findViewBySku** / **findViewsByName**:
+//      - Loads of the product cache for its SKU and name keys; names are not unique, so every match is returned in id order.
+//      - Return type: Optional<ProductView> / List<ProductView>
+//      - Parameters: String sku / String name
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE p.sku = :sku")
+    public Optional<ProductView> findViewBySku(String sku);
+
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE p.name = :name ORDER BY p.id")
+    public List<ProductView> findViewsByName(String name);
+
+//    - **findAllViews** / **findViewsByCategory** / **findViewsBySubName** / **findViewsBySubNameAndCategory**:
+//      - Projections of `findAll`, `findByCategory`, `findProductBySubName` and `findProductBySubNameAndCategory`.
+//      - Return type: List<ProductView>
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p ORDER BY p.id")
+    public List<ProductView> findAllViews();
+
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE p.category = :category")
+    public List<ProductView> findViewsByCategory(String category);
+
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :pname, '%'))")
+    public List<ProductView> findViewsBySubName(String pname);
+
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :pname, '%')) AND p.category = :category")
+    public List<ProductView> findViewsBySubNameAndCategory(String pname, String category);
+
+//    - **findViewsByPriceBetween** / **findStoreViewsByPriceBetween**:
+//      - Projections of `findByPriceBetween`, of the whole catalogue or of one store, cheapest first.
+//      - Return type: List<ProductView> / List<StoreProductView>
+//      - Parameters: Double minPrice, Double maxPrice, Limit limit (and Long storeId)
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice ORDER BY p.price, p.id")
+    public List<ProductView> findViewsByPriceBetween(Double minPrice, Double maxPrice, Limit limit);
+
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId AND p.price BETWEEN :minPrice AND :maxPrice ORDER BY p.price, p.id")
+    public List<StoreProductView> findStoreViewsByPriceBetween(Long storeId, Double minPrice, Double maxPrice, Limit limit);
+
+//    - **findStoreViews** / **findStoreViewsByIdIn** / **findStoreViewsByNameLike** / **findStoreViewsByNameAndCategory** /
+//      **findStoreViewsByCategory**:
+//      - Projections of `findProductsByStoreId`, `findByNameLike`, `findByNameAndCategory` and `findByCategoryAndStoreId`,
+//        with the store's stock level.
+//      - Return type: List<StoreProductView>
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId ORDER BY p.id")
+    public List<StoreProductView> findStoreViews(Long storeId);
+
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId AND p.id IN :ids")
+    public List<StoreProductView> findStoreViewsByIdIn(Long storeId, Collection<Long> ids);
+
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId AND LOWER(p.name) LIKE LOWER(CONCAT('%', :pname, '%'))")
+    public List<StoreProductView> findStoreViewsByNameLike(Long storeId, String pname);
+
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId AND LOWER(p.name) LIKE LOWER(CONCAT('%', :pname, '%')) AND p.category = :category")
+    public List<StoreProductView> findStoreViewsByNameAndCategory(Long storeId, String pname, String category);
+
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId AND p.category = :category")
+    public List<StoreProductView> findStoreViewsByCategory(Long storeId, String category);
+
+//    - **findViewPageAfter** / **findStoreViewPageAfter**:
+//      - One keyset page of the catalogue, or of the products a store stocks: the products after `id`, in id order.
+//      - Return type: List<ProductView> / List<StoreProductView>
+//      - Parameters: Long id, Limit limit (and Long storeId)
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p WHERE p.id > :id ORDER BY p.id")
+    public List<ProductView> findViewPageAfter(Long id, Limit limit);
+
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId AND p.id > :id ORDER BY p.id")
+    public List<StoreProductView> findStoreViewPageAfter(Long storeId, Long id, Limit limit);
+
+//    - **streamViews** / **streamStoreViews**:
+//      - Every product, or every product a store stocks, in id order, read from the open result set 500 rows at a
+//        time; must be consumed, and closed, inside a transaction. MySQL only honours the fetch size with
+//        `useCursorFetch=true` on the JDBC URL, otherwise the driver reads the whole result first.
+//      - Return type: Stream<ProductView> / Stream<StoreProductView>
+//      - Parameters: none (or Long storeId)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + PRODUCT_COLUMNS + " FROM Product p ORDER BY p.id")
+    public Stream<ProductView> streamViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + STORE_PRODUCT_COLUMNS + " FROM Inventory i JOIN i.product p WHERE i.store.id = :storeId ORDER BY p.id")
+    public Stream<StoreProductView> streamStoreViews(Long storeId);
+
 
 }   
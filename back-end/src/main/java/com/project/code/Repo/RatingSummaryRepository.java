@@ -0,0 +1,12 @@
+package com.project.code.Repo;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.project.code.Model.RatingSummary;
+
+public interface RatingSummaryRepository extends MongoRepository<RatingSummary, String> {
+// 1. Add the repository interface:
+//    - Extend MongoRepository<RatingSummary, String>; summaries are keyed by `RatingSummary.key(storeId, productId)`,
+//      so the aggregates of a page of products are one `findAllById`.
+//    - Increments are made with `MongoTemplate` upserts in `RatingService`, so concurrent reviews never lose an update.
+}
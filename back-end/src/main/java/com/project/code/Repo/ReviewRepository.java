@@ -2,11 +2,11 @@ package com.project.code.Repo;
 
 import java.util.List;
 
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.project.code.Model.Review;
 
-public interface ReviewRepository extends JpaRepository<Review, String>{
+public interface ReviewRepository extends MongoRepository<Review, String>{
 // 1. Add the repository interface:
 //    - Extend MongoRepository<Review, String> to inherit basic CRUD functionality for MongoDB operations.
 //    - This allows the repository to perform operations like save, delete, update, and find without having to implement these methods manually.
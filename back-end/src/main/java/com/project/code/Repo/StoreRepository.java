@@ -3,11 +3,13 @@ package com.project.code.Repo;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.project.code.Model.Store;
+import com.project.code.Model.StoreView;
 
 @Repository
 public interface StoreRepository extends JpaRepository<Store, Long>{
@@ -32,8 +34,21 @@ public interface StoreRepository extends JpaRepository<Store, Long>{
 //      - Return type: List<Store>
 //      - Parameter: String pname
 //      - Use @Query annotation to write a custom query.
-    @Query("SELECT i FROM Store WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :pname, '%')")
+    @Query("SELECT s FROM Store s WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :pname, '%'))")
     public List<Store> findBySubName(String pname);
-   
 
+//    - **findViewsBySubName**:
+//      - Same stores as `findBySubName`, as flat projections in id order; used until the store search index is built.
+//      - Return type: List<StoreView>
+//      - Parameter: String pname
+    @Query("SELECT s.id AS id, s.name AS name, s.address AS address FROM Store s " +
+           "WHERE LOWER(s.name) LIKE LOWER(CONCAT('%', :pname, '%')) ORDER BY s.id")
+    public List<StoreView> findViewsBySubName(String pname);
+
+//    - **findViewsAfter**:
+//      - Id, name and address of the stores after `id`, in id order; pages through the stores to build the search index.
+//      - Return type: List<StoreView>
+//      - Parameters: Long id, Limit limit
+    @Query("SELECT s.id AS id, s.name AS name, s.address AS address FROM Store s WHERE s.id > :id ORDER BY s.id")
+    public List<StoreView> findViewsAfter(Long id, Limit limit);
 }
@@ -0,0 +1,33 @@
+package com.project.code.Service;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Predicate;
+
+// Size bound for the in-memory caches kept in concurrent maps: once a map grows past its bound, about a tenth
+// of the bound is dropped at once, so trimming runs once per many inserts rather than on each. Entries go in the
+// map's iteration order, which for a hash map is effectively random; every cache using it can reload what it lost.
+public final class BoundedMaps {
+
+    private BoundedMaps() {}
+
+    public static <K, V> void trim(Map<K, V> map, int maxSize) {
+        trim(map, maxSize, value -> true);
+    }
+
+    // Same, only dropping entries whose value `evictable` accepts
+    public static <K, V> void trim(Map<K, V> map, int maxSize, Predicate<? super V> evictable) {
+        int toRemove = map.size() - maxSize;
+        if (toRemove <= 0) {
+            return;
+        }
+        toRemove += maxSize / 10;
+        Iterator<V> values = map.values().iterator();
+        while (toRemove > 0 && values.hasNext()) {
+            if (evictable.test(values.next())) {
+                values.remove();
+                toRemove--;
+            }
+        }
+    }
+}
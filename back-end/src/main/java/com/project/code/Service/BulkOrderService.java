@@ -0,0 +1,115 @@
+package com.project.code.Service;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PlaceOrderResultDTO;
+
+@Service
+public class BulkOrderService {
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order.bulk.batch-size:500}")
+    private int batchSize;
+
+    public BulkOrderService(OrderService orderService, ObjectMapper objectMapper) {
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+    }
+
+// 1. **placeOrders Method**:
+//    - Reads newline-delimited `PlaceOrderRequestDTO` records one line at a time, so the body is never held in memory.
+//    - Every `order.bulk.batch-size` records are placed in one transaction through `OrderService.saveOrders()`.
+//    - Writes one JSON line per record, keyed by its input line number, as soon as its batch is committed.
+//    - Parameters: `InputStream in` (request body), `OutputStream out` (response body)
+    public void placeOrders(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        int size = Math.max(1, batchSize);
+        List<PlaceOrderRequestDTO> batch = new ArrayList<>(size);
+        List<Long> batchLines = new ArrayList<>(size);
+
+        String line;
+        long lineNo = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNo++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                batch.add(objectMapper.readValue(line, PlaceOrderRequestDTO.class));
+                batchLines.add(lineNo);
+            } catch (JsonProcessingException e) {
+                writeError(writer, lineNo, "Invalid input: The data provided is not valid.");
+            }
+            if (batch.size() >= size) {
+                placeBatch(batch, batchLines, writer);
+            }
+        }
+        placeBatch(batch, batchLines, writer);
+        writer.flush();
+    }
+
+    private void placeBatch(List<PlaceOrderRequestDTO> batch, List<Long> batchLines, Writer writer) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<PlaceOrderResultDTO> results;
+        try {
+            results = orderService.saveOrders(batch);
+        } catch (RuntimeException e) {
+            // The batch was rolled back; the stream goes on with the next one
+            String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (Long lineNo : batchLines) {
+                writeError(writer, lineNo, "Error: " + message);
+            }
+            results = List.of();
+        }
+        for (int i = 0; i < results.size(); i++) {
+            PlaceOrderResultDTO orderResult = results.get(i);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("line", batchLines.get(i));
+            if (orderResult.isSuccess()) {
+                result.put("orderId", orderResult.getOrderId());
+            } else {
+                result.put("Error", orderResult.getError());
+                if (!orderResult.getFailures().isEmpty()) {
+                    result.put("failures", orderResult.getFailures());
+                }
+            }
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+        }
+        writer.flush();
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private void writeError(Writer writer, long lineNo, String message) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("line", lineNo);
+        result.put("Error", message);
+        writer.write(objectMapper.writeValueAsString(result));
+        writer.write('\n');
+    }
+}
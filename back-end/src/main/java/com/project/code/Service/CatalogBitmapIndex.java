@@ -0,0 +1,169 @@
+package com.project.code.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.InventoryKeyView;
+import com.project.code.Model.Product;
+import com.project.code.Model.ProductNameView;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+
+@Service
+public class CatalogBitmapIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogBitmapIndex.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    // Compressed bitmaps of product ids: the products each store stocks, the products of each category
+    private final Map<Long, RoaringBitmap> byStore = new HashMap<>();
+    private final Map<String, RoaringBitmap> byCategory = new HashMap<>();
+    private final Map<Integer, String> categoryOf = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    @Value("${product.bitmap-index.enabled:true}")
+    private boolean enabled;
+
+    public CatalogBitmapIndex(ProductRepository productRepository, InventoryRepository inventoryRepository) {
+        this.productRepository = productRepository;
+        this.inventoryRepository = inventoryRepository;
+    }
+
+// 1. **rebuild Method**:
+//    - Loads the category of every product and the (product, store) pair of every inventory row, a page at a time.
+//    - Runs once the application is up; until it has finished, `isReady` is false and callers use their queries.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        lock.writeLock().lock();
+        try {
+            byStore.clear();
+            byCategory.clear();
+            categoryOf.clear();
+            long last = 0;
+            List<ProductNameView> products;
+            do {
+                products = productRepository.findNamesAfter(last, Limit.of(LOAD_PAGE_SIZE));
+                for (ProductNameView product : products) {
+                    setCategory(Math.toIntExact(product.getId()), product.getCategory());
+                    last = product.getId();
+                }
+            } while (products.size() == LOAD_PAGE_SIZE);
+            last = 0;
+            List<InventoryKeyView> rows;
+            do {
+                rows = inventoryRepository.findKeysAfter(last, Limit.of(LOAD_PAGE_SIZE));
+                for (InventoryKeyView row : rows) {
+                    byStore.computeIfAbsent(row.getStoreId(), id -> new RoaringBitmap()).add(Math.toIntExact(row.getProductId()));
+                    last = row.getId();
+                }
+            } while (rows.size() == LOAD_PAGE_SIZE);
+            byStore.values().forEach(RoaringBitmap::runOptimize);
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+        logger.info("Catalog bitmap index built for {} stores and {} categories", byStore.size(), byCategory.size());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+// 2. **Change events**:
+//    - `indexProduct`: a product was saved (its category may have changed).
+//    - `addInventory`: a store started stocking a product.
+//    - `removeProduct`: a product's inventory rows, or the product itself, were deleted.
+    public void indexProduct(Product product) {
+        if (!enabled || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            setCategory(Math.toIntExact(product.getId()), product.getCategory());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addInventory(Long productId, Long storeId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            byStore.computeIfAbsent(storeId, id -> new RoaringBitmap()).add(Math.toIntExact(productId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeProduct(Long productId, boolean deleted) {
+        if (!enabled) {
+            return;
+        }
+        int id = Math.toIntExact(productId);
+        lock.writeLock().lock();
+        try {
+            for (RoaringBitmap products : byStore.values()) {
+                products.remove(id);
+            }
+            if (deleted) {
+                setCategory(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+// 3. **products Method**:
+//    - Ids of the products stocked by `storeId` and in `category`; either may be `null` for no restriction,
+//      but not both.
+//    - Return Type: `RoaringBitmap` (a new bitmap the caller owns)
+    public RoaringBitmap products(Long storeId, String category) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap inStore = storeId == null ? null : byStore.getOrDefault(storeId, new RoaringBitmap());
+            RoaringBitmap inCategory = category == null ? null : byCategory.getOrDefault(category, new RoaringBitmap());
+            if (inStore == null) {
+                return inCategory.clone();
+            }
+            return inCategory == null ? inStore.clone() : RoaringBitmap.and(inStore, inCategory);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setCategory(int productId, String category) {
+        String previous = category == null ? categoryOf.remove(productId) : categoryOf.put(productId, category);
+        if (previous != null) {
+            RoaringBitmap products = byCategory.get(previous);
+            products.remove(productId);
+            if (products.isEmpty()) {
+                byCategory.remove(previous);
+            }
+        }
+        if (category != null) {
+            byCategory.computeIfAbsent(category, c -> new RoaringBitmap()).add(productId);
+        }
+    }
+}
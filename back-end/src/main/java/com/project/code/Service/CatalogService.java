@@ -0,0 +1,107 @@
+package com.project.code.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.ProductView;
+import com.project.code.Model.StoreProductView;
+import com.project.code.Repo.ProductRepository;
+
+@Service
+public class CatalogService {
+
+    // Rows between flushes of the response; matches the stream fetch size
+    private static final int STREAM_CHUNK = 500;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    @Value("${catalog.page.max-size:500}")
+    private int maxPageSize;
+
+    public CatalogService(ProductRepository productRepository, ObjectMapper objectMapper, TransactionTemplate transactionTemplate) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // One page of products and the cursor of the next one (`null` on the last page)
+    public record Page<T extends ProductView>(List<T> products, Long nextCursor) {}
+
+// 1. **page / storePage Methods**:
+//    - The products after `cursor` in id order, of the whole catalogue or, with their stock level, of one store;
+//      one query per page whatever its position.
+//    - Parameters: `Long storeId`, `Long cursor` (`nextCursor` of the previous page, or `null` for the first),
+//      `int limit` (capped at `catalog.page.max-size`)
+//    - Return Type: `Page`
+    public Page<ProductView> page(Long cursor, int limit) {
+        int size = pageSize(limit);
+        // One extra row tells whether there is a next page
+        return toPage(productRepository.findViewPageAfter(after(cursor), Limit.of(size + 1)), size);
+    }
+
+    public Page<StoreProductView> storePage(Long storeId, Long cursor, int limit) {
+        int size = pageSize(limit);
+        return toPage(productRepository.findStoreViewPageAfter(storeId, after(cursor), Limit.of(size + 1)), size);
+    }
+
+// 2. **write Method**:
+//    - Writes `{"<key>": [...]}` with every product, of the whole catalogue or of one store, to `out` as it is read
+//      from a JDBC result set, so memory use does not depend on the size of the catalogue.
+//    - Parameters: `Long storeId` (`null` for the whole catalogue), `String key`, `OutputStream out` (response body)
+    public void write(Long storeId, String key, OutputStream out) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart(key);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<? extends ProductView> products = storeId == null
+                        ? productRepository.streamViews()
+                        : productRepository.streamStoreViews(storeId)) {
+                    int written = 0;
+                    for (Iterator<? extends ProductView> it = products.iterator(); it.hasNext(); ) {
+                        json.writeObject(it.next());
+                        if (++written % STREAM_CHUNK == 0) {
+                            json.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+    private static long after(Long cursor) {
+        return cursor == null ? 0 : cursor;
+    }
+
+    private static <T extends ProductView> Page<T> toPage(List<T> rows, int size) {
+        if (rows.size() <= size) {
+            return new Page<>(rows, null);
+        }
+        List<T> products = rows.subList(0, size);
+        return new Page<>(products, products.get(size - 1).getId());
+    }
+}
@@ -0,0 +1,126 @@
+package com.project.code.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Repo.ProductRepository;
+
+@Service
+public class CatalogSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSnapshots.class);
+
+    // The body of GET /inventory/{storeid} as of version `tag` of the store, as JSON and gzip-compressed JSON
+    public record Snapshot(String tag, byte[] json, byte[] gzip) {}
+
+    private final ProductRepository productRepository;
+    private final CatalogVersions catalogVersions;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Stores asked for since their snapshot was last built or found stale; built by the next `refresh`
+    private final Set<Long> wanted = ConcurrentHashMap.newKeySet();
+    // When each store with a snapshot, or wanting one, was last asked for; the least recent one goes first
+    private final Map<Long, Long> lastRead = new ConcurrentHashMap<>();
+
+    @Value("${catalog.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${catalog.snapshot.max-stores:100}")
+    private int maxStores;
+
+    public CatalogSnapshots(ProductRepository productRepository, CatalogVersions catalogVersions, ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.catalogVersions = catalogVersions;
+        this.objectMapper = objectMapper;
+    }
+
+// 1. **get Method**:
+//    - The snapshot of a store's listing if it is still current for the version tag `tag` (read before calling).
+//    - Otherwise asks for one to be built in the background and returns `null`; the caller serializes the listing itself.
+//    - At most `catalog.snapshot.max-stores` stores are kept: building one more drops the one read least recently.
+    public Snapshot get(Long storeId, String tag) {
+        if (!enabled) {
+            return null;
+        }
+        Snapshot snapshot = snapshots.get(storeId);
+        if (snapshot != null && snapshot.tag().equals(tag)) {
+            lastRead.put(storeId, System.nanoTime());
+            return snapshot;
+        }
+        // Bounded, so a burst of requests for many stores cannot queue more builds than can be kept
+        if (snapshot != null || wanted.size() < maxStores) {
+            wanted.add(storeId);
+            lastRead.put(storeId, System.nanoTime());
+        }
+        return null;
+    }
+
+// 2. **refresh Method**:
+//    - Builds the snapshots asked for since the last run: reads the store's products with their stock levels, writes
+//      them with the application's `ObjectMapper` and compresses the result once.
+//    - Runs every `catalog.snapshot.debounce-millis`, so a burst of changes to a store costs one rebuild, and only
+//      for the stores that were read in between.
+    @Scheduled(fixedDelayString = "${catalog.snapshot.debounce-millis:500}")
+    public void refresh() {
+        if (!enabled || wanted.isEmpty()) {
+            return;
+        }
+        for (Long storeId : wanted) {
+            wanted.remove(storeId);
+            try {
+                // Read before the data, so the snapshot is never tagged newer than its content
+                String tag = catalogVersions.storeTag(storeId);
+                byte[] json = objectMapper.writeValueAsBytes(Map.of("product", productRepository.findStoreViews(storeId)));
+                snapshots.put(storeId, new Snapshot(tag, json, gzip(json)));
+                evictLeastRecentlyRead();
+            } catch (JsonProcessingException | RuntimeException e) {
+                logger.warn("Could not build the catalog snapshot of store {}", storeId, e);
+                if (!snapshots.containsKey(storeId)) {
+                    lastRead.remove(storeId);
+                }
+            }
+        }
+    }
+
+    // Drops the snapshots read least recently until at most `maxStores` are left; O(maxStores) per snapshot dropped
+    private void evictLeastRecentlyRead() {
+        while (snapshots.size() > Math.max(1, maxStores)) {
+            Long oldest = null;
+            long oldestRead = 0;
+            for (Long storeId : snapshots.keySet()) {
+                long read = lastRead.getOrDefault(storeId, Long.MIN_VALUE);
+                if (oldest == null || read < oldestRead) {
+                    oldest = storeId;
+                    oldestRead = read;
+                }
+            }
+            snapshots.remove(oldest);
+            if (!wanted.contains(oldest)) {
+                lastRead.remove(oldest);
+            }
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.project.code.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Version counters of the catalogue and of each store's inventory, for the ETags of the catalogue endpoints.
+// Every product write bumps the catalogue version and every stock change the version of its store, once committed.
+// A response read after a bump carries a new tag; a tag read before the data is never newer than the data.
+// Tags start with the time this instance started, so a tag from before a restart, or from another instance, never matches.
+@Service
+public class CatalogVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong catalog = new AtomicLong();
+    private final Map<Long, AtomicLong> stores = new ConcurrentHashMap<>();
+
+// 1. **catalogTag / storeTag Methods**:
+//    - Strong ETag (quoted) of what the catalogue endpoints return: the products alone, or the products of a store
+//      with their stock levels there, which change with either counter.
+//    - Read them before the data they describe.
+    public String catalogTag() {
+        return "\"" + epoch + "-" + catalog.get() + "\"";
+    }
+
+    public String storeTag(Long storeId) {
+        AtomicLong store = stores.get(storeId);
+        return "\"" + epoch + "-" + catalog.get() + "-" + storeId + "-" + (store == null ? 0 : store.get()) + "\"";
+    }
+
+// 2. **catalogChanged / storeChanged / storeChangedAfterCommit Methods**:
+//    - Bump the counters after a product was saved or deleted, or after stock of a store was set or taken;
+//      with `storeChangedAfterCommit`, once the current transaction has committed.
+    public void catalogChanged() {
+        catalog.incrementAndGet();
+    }
+
+    public void storeChanged(Long storeId) {
+        if (storeId != null) {
+            stores.computeIfAbsent(storeId, id -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public void storeChangedAfterCommit(Long storeId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            storeChanged(storeId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                storeChanged(storeId);
+            }
+        });
+    }
+}
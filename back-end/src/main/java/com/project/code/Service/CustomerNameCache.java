@@ -0,0 +1,71 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.CustomerNameView;
+import com.project.code.Repo.CustomerRepository;
+
+@Service
+public class CustomerNameCache {
+
+    // Ids per query, well under the IN-list limits of the databases
+    private static final int LOAD_BATCH_SIZE = 1_000;
+
+    private record Entry(String name, long expiresAtNanos) {}
+
+    private final CustomerRepository customerRepository;
+    private final Map<Long, Entry> names = new ConcurrentHashMap<>();
+
+    @Value("${customer.name-cache.max-size:50000}")
+    private int maxSize;
+
+    @Value("${customer.name-cache.ttl-seconds:600}")
+    private int ttlSeconds;
+
+    public CustomerNameCache(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+// 1. **getNames Method**:
+//    - Names of the given customers; the ones not cached are read with one projection query per 1000 ids.
+//    - Return Type: `Map<Long, String>` (customers that do not exist are left out)
+    public Map<Long, String> getNames(Collection<Long> customerIds) {
+        Map<Long, String> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Long id : new LinkedHashSet<>(customerIds)) {
+            if (id == null) {
+                continue;
+            }
+            Entry entry = names.get(id);
+            if (entry != null && entry.expiresAtNanos() - now > 0) {
+                found.put(id, entry.name());
+            } else {
+                missing.add(id);
+            }
+        }
+        for (int from = 0; from < missing.size(); from += LOAD_BATCH_SIZE) {
+            List<Long> batch = missing.subList(from, Math.min(from + LOAD_BATCH_SIZE, missing.size()));
+            for (CustomerNameView customer : customerRepository.findNamesByIdIn(batch)) {
+                found.put(customer.getId(), customer.getName());
+                store(customer.getId(), customer.getName());
+            }
+        }
+        return found;
+    }
+
+    private void store(Long id, String name) {
+        names.put(id, new Entry(name, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        BoundedMaps.trim(names, maxSize);
+    }
+}
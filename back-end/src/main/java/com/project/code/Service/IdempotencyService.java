@@ -0,0 +1,182 @@
+package com.project.code.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.IdempotencyRecord;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PlaceOrderResultDTO;
+import com.project.code.Repo.IdempotencyRecordRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class IdempotencyService {
+
+    // Thrown when a key is sent again with a different order than the one it was first used for
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException(String key) {
+            super("Idempotency-Key " + key + " was already used for a different order");
+        }
+    }
+
+    // Result of one key; concurrent retries wait on the same future instead of placing the order again
+    private record Entry(String key, String requestHash, CompletableFuture<PlaceOrderResultDTO> result) {}
+
+    private record Outcome(PlaceOrderResultDTO result, boolean stored) {}
+
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final TimerWheel<Entry> timerWheel;
+
+    @Value("${order.idempotency.ttl-seconds:3600}")
+    private int ttlSeconds;
+
+    @Value("${order.idempotency.max-size:100000}")
+    private int maxSize;
+
+    @Value("${order.idempotency.retention-hours:24}")
+    private int retentionHours;
+
+    public IdempotencyService(OrderService orderService, IdempotencyRecordRepository idempotencyRecordRepository, ObjectMapper objectMapper) {
+        this.orderService = orderService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.objectMapper = objectMapper;
+        this.timerWheel = new TimerWheel<>("idempotency-expiry", 1000, 4096, entry -> entries.remove(entry.key(), entry));
+    }
+
+    @PreDestroy
+    public void stop() {
+        timerWheel.close();
+    }
+
+// 1. **placeOrder Method**:
+//    - Places an order at most once per `Idempotency-Key`; a retry gets the result of the first attempt.
+//    - Recent keys are answered from memory; older ones from the `idempotency_key` table, which is written in the
+//      order transaction so a key and its order are always committed together.
+//    - A retry that arrives while the first attempt is still running waits for it and gets its result.
+//    - Throws `KeyReusedException` if the key was used for a different request body.
+//    - Return Type: `PlaceOrderResultDTO`
+    public PlaceOrderResultDTO placeOrder(String key, PlaceOrderRequestDTO request) {
+        String requestHash = hash(request);
+        Entry entry = new Entry(key, requestHash, new CompletableFuture<>());
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return replay(existing, requestHash);
+        }
+
+        Outcome outcome;
+        try {
+            outcome = execute(key, requestHash, request);
+        } catch (RuntimeException e) {
+            // Nothing was committed for the key; the next retry may try again
+            entries.remove(key, entry);
+            entry.result().completeExceptionally(e);
+            throw e;
+        }
+        entry.result().complete(outcome.result());
+        if (!outcome.stored()) {
+            // The order transaction was given up (e.g. retries exhausted), so a later retry runs it again
+            entries.remove(key, entry);
+            return outcome.result();
+        }
+        timerWheel.schedule(entry, TimeUnit.SECONDS.toMillis(ttlSeconds));
+        // Only completed entries go; those are still answered from the table
+        BoundedMaps.trim(entries, maxSize, cached -> cached.result().isDone());
+        return outcome.result();
+    }
+
+// 2. **purgeExpired Method**:
+//    - Deletes stored keys older than `order.idempotency.retention-hours`.
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval-millis:3600000}")
+    public void purgeExpired() {
+        idempotencyRecordRepository.deleteOlderThan(LocalDateTime.now().minusHours(retentionHours));
+    }
+
+    private Outcome execute(String key, String requestHash, PlaceOrderRequestDTO request) {
+        IdempotencyRecord stored = idempotencyRecordRepository.findByIdempotencyKey(key);
+        if (stored != null) {
+            return new Outcome(fromRecord(stored, requestHash), true);
+        }
+        boolean[] recorded = { false };
+        try {
+            PlaceOrderResultDTO result = orderService.saveOrder(request, placed -> {
+                idempotencyRecordRepository.save(new IdempotencyRecord(key, requestHash, toJson(placed), LocalDateTime.now()));
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recorded[0] = true;
+                    }
+                });
+            });
+            return new Outcome(result, recorded[0]);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance committed the same key first; its order stands and this one was rolled back
+            stored = idempotencyRecordRepository.findByIdempotencyKey(key);
+            if (stored == null) {
+                throw e;
+            }
+            return new Outcome(fromRecord(stored, requestHash), true);
+        }
+    }
+
+    private PlaceOrderResultDTO replay(Entry existing, String requestHash) {
+        if (!existing.requestHash().equals(requestHash)) {
+            throw new KeyReusedException(existing.key());
+        }
+        try {
+            return existing.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private PlaceOrderResultDTO fromRecord(IdempotencyRecord stored, String requestHash) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new KeyReusedException(stored.getIdempotencyKey());
+        }
+        try {
+            return objectMapper.readValue(stored.getResult(), PlaceOrderResultDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored result of Idempotency-Key " + stored.getIdempotencyKey() + " is not readable", e);
+        }
+    }
+
+    private String toJson(PlaceOrderResultDTO result) {
+        try {
+            return objectMapper.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String hash(PlaceOrderRequestDTO request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.InventoryStockView;
+import com.project.code.Repo.InventoryRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+public class InventoryCache {
+
+    // Cached part of an inventory row; a row known not to exist is cached as MISSING
+    public record CachedInventory(long id, int stockLevel) {}
+
+    private static final CachedInventory MISSING = new CachedInventory(-1, 0);
+    // Number of generation counters; keys are spread over them by product and store
+    private static final int STRIPES = 64;
+
+    // A cached row and the generation of its stripe when it was stored
+    private record Entry(CachedInventory inventory, long generation) {}
+
+    private final InventoryRepository inventoryRepository;
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Per stripe, bumped by every write and every stock change about to commit. A load that overlapped a bump
+    // does not keep what it read, and a committed change is only applied to rows stored before it began.
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Value("${inventory.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.cache.max-size:100000}")
+    private int maxSize;
+
+    public InventoryCache(InventoryRepository inventoryRepository, MeterRegistry meterRegistry) {
+        this.inventoryRepository = inventoryRepository;
+        FunctionCounter.builder("inventory.cache.gets", hits, LongAdder::sum).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("inventory.cache.gets", misses, LongAdder::sum).tag("result", "miss").register(meterRegistry);
+        Gauge.builder("inventory.cache.size", entries, Map::size).register(meterRegistry);
+    }
+
+// 1. **get Method**:
+//    - Id and stock level of the (product, store) inventory row, loaded on a miss.
+//    - Return Type: `CachedInventory`, or `null` if the store does not stock the product.
+    public CachedInventory get(Long productId, Long storeId) {
+        return getAll(storeId, List.of(productId)).get(productId);
+    }
+
+// 2. **getAll Method**:
+//    - Same as `get` for several products of one store; all misses are loaded with one query.
+//    - Return Type: `Map<Long, CachedInventory>` (productId -> row, products the store does not stock are left out)
+    public Map<Long, CachedInventory> getAll(Long storeId, Collection<Long> productIds) {
+        Map<Long, CachedInventory> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long productId : productIds) {
+            Entry cached = enabled ? entries.get(InventoryKeys.pack(productId, storeId)) : null;
+            if (cached == null) {
+                missing.add(productId);
+            } else if (cached.inventory() != MISSING) {
+                found.put(productId, cached.inventory());
+            }
+        }
+        if (enabled) {
+            hits.add(productIds.size() - missing.size());
+            misses.add(missing.size());
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        long[] seen = new long[missing.size()];
+        for (int i = 0; i < seen.length; i++) {
+            seen[i] = generations.get(stripe(InventoryKeys.pack(missing.get(i), storeId)));
+        }
+        for (InventoryStockView row : inventoryRepository.findStockByStoreIdAndProductIds(storeId, missing)) {
+            found.put(row.getProductId(), new CachedInventory(row.getId(), row.getStockLevel()));
+        }
+        for (int i = 0; i < seen.length; i++) {
+            Long productId = missing.get(i);
+            storeLoaded(InventoryKeys.pack(productId, storeId), found.getOrDefault(productId, MISSING), seen[i]);
+        }
+        return found;
+    }
+
+// 3. **put Method**:
+//    - Write-through after an inventory row was saved or its stock level set.
+    public void put(Long productId, Long storeId, long inventoryId, int stockLevel) {
+        if (!enabled) {
+            return;
+        }
+        long key = InventoryKeys.pack(productId, storeId);
+        entries.put(key, new Entry(new CachedInventory(inventoryId, stockLevel), generations.incrementAndGet(stripe(key))));
+        BoundedMaps.trim(entries, maxSize);
+    }
+
+// 4. **adjustAfterCommit Method**:
+//    - Applies a stock change made by the current transaction to the cached row once it has committed.
+//    - A row stored since the change was made may already hold the committed stock level; it is dropped instead.
+    public void adjustAfterCommit(Long productId, Long storeId, int delta) {
+        if (!enabled) {
+            return;
+        }
+        long key = InventoryKeys.pack(productId, storeId);
+        int stripe = stripe(key);
+        long changed = generations.incrementAndGet(stripe);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                generations.incrementAndGet(stripe);
+                entries.computeIfPresent(key, (k, cached) -> cached.inventory() == MISSING || cached.generation() >= changed ? null
+                        : new Entry(new CachedInventory(cached.inventory().id(), cached.inventory().stockLevel() + delta), cached.generation()));
+            }
+        });
+    }
+
+// 5. **evict / evictProduct Methods**:
+//    - Drop cached rows, e.g. after inventory rows were deleted outside of the cache.
+    public void evict(Long productId, Long storeId) {
+        long key = InventoryKeys.pack(productId, storeId);
+        generations.incrementAndGet(stripe(key));
+        entries.remove(key);
+    }
+
+    public void evictProduct(Long productId) {
+        // The product's rows may be in any stripe
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        entries.keySet().removeIf(key -> InventoryKeys.productId(key) == productId);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Keeps a row read by a load that began at generation `seen`, unless a write or stock change overlapped the load
+    private void storeLoaded(long key, CachedInventory value, long seen) {
+        if (!enabled) {
+            return;
+        }
+        int stripe = stripe(key);
+        Entry entry = new Entry(value, seen);
+        // Never replaces a newer write; checked again once in the map, as a change may have committed meanwhile
+        if (entries.putIfAbsent(key, entry) == null && generations.get(stripe) != seen) {
+            entries.remove(key, entry);
+        }
+        BoundedMaps.trim(entries, maxSize);
+    }
+
+    private static int stripe(long key) {
+        return (int) (InventoryKeys.productId(key) * 31 + InventoryKeys.storeId(key)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,21 @@
+package com.project.code.Service;
+
+// Packs a (productId, storeId) pair into one primitive long map key:
+// productId in the high 32 bits, storeId in the low 32 bits.
+public final class InventoryKeys {
+
+    private InventoryKeys() {}
+
+    // Throws `ArithmeticException` for an id that does not fit in an int, rather than alias another row's key
+    public static long pack(long productId, long storeId) {
+        return ((long) Math.toIntExact(productId) << 32) | (Math.toIntExact(storeId) & 0xFFFFFFFFL);
+    }
+
+    public static long productId(long key) {
+        return key >>> 32;
+    }
+
+    public static long storeId(long key) {
+        return key & 0xFFFFFFFFL;
+    }
+}
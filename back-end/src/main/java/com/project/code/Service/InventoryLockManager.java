@@ -0,0 +1,138 @@
+package com.project.code.Service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@Service
+public class InventoryLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final AtomicLongArray acquired;
+    private final AtomicLongArray contended;
+    private final int mask;
+
+    public InventoryLockManager(@Value("${inventory.lock.stripes:1024}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.acquired = new AtomicLongArray(size);
+        this.contended = new AtomicLongArray(size);
+        this.mask = size - 1;
+    }
+
+    // Stripes held by one caller, released in reverse order on close()
+    public final class Lease implements AutoCloseable {
+        private final int[] held;
+
+        private Lease(int[] held) {
+            this.held = held;
+        }
+
+        @Override
+        public void close() {
+            for (int i = held.length - 1; i >= 0; i--) {
+                stripes[held[i]].unlock();
+            }
+        }
+    }
+
+// 1. **lock Method**:
+//    - Locks the stripe of one (store, product) inventory row until the returned `Lease` is closed.
+    public Lease lock(Long storeId, Long productId) {
+        return acquire(new int[] { stripe(storeId, productId) });
+    }
+
+// 2. **lock Method** (several rows):
+//    - Locks the stripes of every (store, product) row of an order or batch of orders at once.
+//    - Stripes are taken in ascending index order, so two callers can never wait on each other in a cycle.
+//    - Parameters: `Map<Long, ? extends Collection<Long>> productIdsByStore` (storeId -> productIds)
+    public Lease lock(Map<Long, ? extends Collection<Long>> productIdsByStore) {
+        int count = 0;
+        for (Collection<Long> productIds : productIdsByStore.values()) {
+            count += productIds.size();
+        }
+        int[] indexes = new int[count];
+        int n = 0;
+        for (Map.Entry<Long, ? extends Collection<Long>> entry : productIdsByStore.entrySet()) {
+            for (Long productId : entry.getValue()) {
+                indexes[n++] = stripe(entry.getKey(), productId);
+            }
+        }
+        Arrays.sort(indexes);
+        int unique = 0;
+        for (int i = 0; i < indexes.length; i++) {
+            if (unique == 0 || indexes[i] != indexes[unique - 1]) {
+                indexes[unique++] = indexes[i];
+            }
+        }
+        return acquire(Arrays.copyOf(indexes, unique));
+    }
+
+// 3. **lockForTransaction Method**:
+//    - Same as `lock`, but the stripes stay held until the current transaction has committed or rolled back.
+    public void lockForTransaction(Map<Long, ? extends Collection<Long>> productIdsByStore) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("No active transaction to hold inventory locks");
+        }
+        Lease lease = lock(productIdsByStore);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lease.close();
+            }
+        });
+    }
+
+// 4. **stats Method**:
+//    - Per-stripe acquisition and contention counts (only stripes that were ever used), for the actuator endpoint.
+    public Map<String, Object> stats() {
+        long totalAcquired = 0;
+        long totalContended = 0;
+        Map<Integer, List<Long>> used = new LinkedHashMap<>();
+        for (int i = 0; i < stripes.length; i++) {
+            long a = acquired.get(i);
+            long c = contended.get(i);
+            totalAcquired += a;
+            totalContended += c;
+            if (a > 0) {
+                used.put(i, List.of(a, c));
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stripes", stripes.length);
+        result.put("acquired", totalAcquired);
+        result.put("contended", totalContended);
+        result.put("stripeCounts", used);
+        return result;
+    }
+
+    private Lease acquire(int[] indexes) {
+        for (int index : indexes) {
+            ReentrantLock lock = stripes[index];
+            if (!lock.tryLock()) {
+                contended.incrementAndGet(index);
+                lock.lock();
+            }
+            acquired.incrementAndGet(index);
+        }
+        return new Lease(indexes);
+    }
+
+    private int stripe(Long storeId, Long productId) {
+        long key = (storeId == null ? 0 : storeId) * 0x9E3779B97F4A7C15L + (productId == null ? 0 : productId);
+        int h = (int) (key ^ (key >>> 32));
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
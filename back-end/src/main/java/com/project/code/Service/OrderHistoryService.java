@@ -0,0 +1,100 @@
+package com.project.code.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.OrderHistoryView;
+import com.project.code.Model.OrderLineView;
+import com.project.code.Repo.OrderDetailsRepository;
+import com.project.code.Repo.OrderItemRepository;
+
+@Service
+public class OrderHistoryService {
+
+    private final OrderDetailsRepository orderDetailsRepository;
+    private final OrderItemRepository orderItemRepository;
+
+    @Value("${order.history.max-page-size:100}")
+    private int maxPageSize;
+
+    public OrderHistoryService(OrderDetailsRepository orderDetailsRepository, OrderItemRepository orderItemRepository) {
+        this.orderDetailsRepository = orderDetailsRepository;
+        this.orderItemRepository = orderItemRepository;
+    }
+
+// 1. **getHistory Method**:
+//    - One page of a customer's orders, newest first, each with its lines; two queries per page whatever its position.
+//    - Parameters: `Long customerId`, `String cursor` (`nextCursor` of the previous page, or `null` for the first),
+//      `int limit` (capped at `order.history.max-page-size`)
+//    - Return Type: `Map<String, Object>` with `orders` and `nextCursor` (`null` on the last page)
+//    - Throws `IllegalArgumentException` for a cursor that was not returned by this method.
+    public Map<String, Object> getHistory(Long customerId, String cursor, int limit) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        // One extra row tells whether there is a next page
+        List<OrderHistoryView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = orderDetailsRepository.findHistory(customerId, Limit.of(size + 1));
+        } else {
+            Cursor after = Cursor.decode(cursor);
+            rows = orderDetailsRepository.findHistoryBefore(customerId, after.date(), after.id(), Limit.of(size + 1));
+        }
+        boolean more = rows.size() > size;
+        List<OrderHistoryView> page = more ? rows.subList(0, size) : rows;
+
+        Map<Long, List<OrderLineView>> lines = new HashMap<>();
+        if (!page.isEmpty()) {
+            for (OrderLineView line : orderItemRepository.findLinesByOrderIds(page.stream().map(OrderHistoryView::getId).toList())) {
+                lines.computeIfAbsent(line.getOrderId(), id -> new ArrayList<>()).add(line);
+            }
+        }
+        List<Map<String, Object>> orders = new ArrayList<>(page.size());
+        for (OrderHistoryView order : page) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", order.getId());
+            entry.put("date", order.getDate());
+            entry.put("totalPrice", order.getTotalPrice());
+            entry.put("storeId", order.getStoreId());
+            entry.put("storeName", order.getStoreName());
+            entry.put("items", lines.getOrDefault(order.getId(), List.of()));
+            orders.add(entry);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("orders", orders);
+        OrderHistoryView last = more ? page.get(page.size() - 1) : null;
+        result.put("nextCursor", last == null ? null : new Cursor(last.getDate(), last.getId()).encode());
+        return result;
+    }
+
+    // (date, id) of the last order of a page, passed to clients as an opaque URL-safe string
+    private record Cursor(LocalDateTime date, Long id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((date + "|" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                return new Cursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
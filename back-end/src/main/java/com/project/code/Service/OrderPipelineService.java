@@ -0,0 +1,164 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.OrderTicketDTO;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PlaceOrderResultDTO;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class OrderPipelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPipelineService.class);
+
+    private record QueuedOrder(String ticket, PlaceOrderRequestDTO request) {}
+
+    private final OrderService orderService;
+
+    @Value("${order.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${order.async.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${order.async.max-batch:200}")
+    private int maxBatch;
+
+    @Value("${order.async.retained-tickets:100000}")
+    private int retainedTickets;
+
+    private BlockingQueue<QueuedOrder> queue;
+    private final Map<String, OrderTicketDTO> tickets = new ConcurrentHashMap<>();
+    private final Queue<String> ticketHistory = new ConcurrentLinkedQueue<>();
+    private Thread writer;
+    private volatile boolean running;
+
+    public OrderPipelineService(OrderService orderService) {
+        this.orderService = orderService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::drain, "order-group-commit");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+// 1. **submit Method**:
+//    - Queues an already validated order for the group-commit writer and hands back a ticket right away.
+//    - Return Type: `OrderTicketDTO` (status `QUEUED`), or `null` when the queue is full and the caller should back off.
+    public OrderTicketDTO submit(PlaceOrderRequestDTO placeOrderRequest) {
+        String ticket = UUID.randomUUID().toString();
+        OrderTicketDTO queued = new OrderTicketDTO(ticket, OrderTicketDTO.Status.QUEUED);
+        tickets.put(ticket, queued);
+        if (!queue.offer(new QueuedOrder(ticket, placeOrderRequest))) {
+            tickets.remove(ticket);
+            return null;
+        }
+        ticketHistory.add(ticket);
+        trimTickets();
+        return queued;
+    }
+
+// 2. **getTicket Method**:
+//    - Returns the current state of a ticket; `DURABLE` means the order is committed.
+//    - Return Type: `OrderTicketDTO`, or `null` for an unknown (or long forgotten) ticket.
+    public OrderTicketDTO getTicket(String ticket) {
+        return tickets.get(ticket);
+    }
+
+    // Single writer: blocks for the first order, then commits everything already waiting in one transaction
+    private void drain() {
+        List<QueuedOrder> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<QueuedOrder> batch) {
+        List<PlaceOrderRequestDTO> requests = new ArrayList<>(batch.size());
+        for (QueuedOrder queued : batch) {
+            requests.add(queued.request());
+        }
+        try {
+            List<PlaceOrderResultDTO> results = orderService.saveOrders(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                PlaceOrderResultDTO result = results.get(i);
+                String ticket = batch.get(i).ticket();
+                OrderTicketDTO done = new OrderTicketDTO(ticket,
+                        result.isSuccess() ? OrderTicketDTO.Status.DURABLE : OrderTicketDTO.Status.REJECTED);
+                done.setOrderId(result.getOrderId());
+                done.setError(result.getError());
+                if (!result.getFailures().isEmpty()) {
+                    done.setFailures(result.getFailures());
+                }
+                // A ticket trimmed while queued stays trimmed; put back, it would never be trimmed again
+                tickets.replace(ticket, done);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Group commit of {} orders failed", batch.size(), e);
+            for (QueuedOrder queued : batch) {
+                OrderTicketDTO failed = new OrderTicketDTO(queued.ticket(), OrderTicketDTO.Status.FAILED);
+                failed.setError("Error: " + e.getMessage());
+                tickets.replace(queued.ticket(), failed);
+            }
+        }
+    }
+
+    private void trimTickets() {
+        while (tickets.size() > retainedTickets) {
+            String oldest = ticketHistory.poll();
+            if (oldest == null) {
+                return;
+            }
+            tickets.remove(oldest);
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.project.code.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.project.code.Model.*;
 
@@ -12,6 +23,7 @@ import com.project.code.Repo.CustomerRepository;
 import com.project.code.Repo.InventoryRepository;
 import com.project.code.Repo.OrderDetailsRepository;
 import com.project.code.Repo.OrderItemRepository;
+import com.project.code.Repo.OrderJdbcRepository;
 import com.project.code.Repo.ProductRepository;
 import com.project.code.Repo.StoreRepository;
 
@@ -36,50 +48,305 @@ public class OrderService {
     @Autowired
     private OrderItemRepository orderItemRepository;
 
-    public OrderService(ProductRepository productRepository, InventoryRepository inventoryRepository, CustomerRepository customerRepository, StoreRepository storeRepository, OrderDetailsRepository orderDetailsRepository, OrderItemRepository orderItemRepository) {
+    @Autowired
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private InventoryLockManager inventoryLockManager;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private InventoryCache inventoryCache;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private TypeaheadService typeaheadService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Value("${inventory.stock.mode:atomic}")
+    private String stockMode;
+
+    @Value("${inventory.stock.optimistic-max-retries:3}")
+    private int optimisticMaxRetries;
+
+    public OrderService(ProductRepository productRepository, InventoryRepository inventoryRepository, CustomerRepository customerRepository, StoreRepository storeRepository, OrderDetailsRepository orderDetailsRepository, OrderItemRepository orderItemRepository, OrderJdbcRepository orderJdbcRepository, TransactionTemplate transactionTemplate, InventoryLockManager inventoryLockManager, StockReservationService stockReservationService, InventoryCache inventoryCache, ProductCache productCache) {
         this.customerRepository = customerRepository;
         this.productRepository = productRepository;
         this.inventoryRepository = inventoryRepository;
         this.orderDetailsRepository = orderDetailsRepository;
         this.orderItemRepository = orderItemRepository;
         this.storeRepository = storeRepository;
+        this.orderJdbcRepository = orderJdbcRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.inventoryLockManager = inventoryLockManager;
+        this.stockReservationService = stockReservationService;
+        this.inventoryCache = inventoryCache;
+        this.productCache = productCache;
     }
 // 1. **saveOrder Method**:
 //    - Processes a customer's order, including saving the order details and associated items.
 //    - Parameters: `PlaceOrderRequestDTO placeOrderRequest` (Request data for placing an order)
-//    - Return Type: `void` (This method doesn't return anything, it just processes the order)
-    public void saveOrder(PlaceOrderRequestDTO placeOrderRequest) {
-        String email = placeOrderRequest.getCustomerEmail();
-        Customer customer = customerRepository.findByEmail(email);
-        if (customer == null) {
-            throw new IllegalArgumentException("Invalid Customer");
-        }
-        Long storeId = placeOrderRequest.getStoreId();
-        Store store = storeRepository.findById(storeId).get();
-        if (store == null) throw new IllegalArgumentException("Invalid Store");
-        
-        double totalPrice = placeOrderRequest.getTotalPrice();
-        OrderDetails newOrder = new OrderDetails(); 
-        newOrder.setCustomer(customer);
-        newOrder.setStore(store);
-        newOrder.setTotalPrice(totalPrice);
-        newOrder.setDate(LocalDateTime.now());
-
-        orderDetailsRepository.save(newOrder);
-
-        //Create and Save OrderItems
+//    - Return Type: `PlaceOrderResultDTO` (the new order id, or why the order was refused)
+    public PlaceOrderResultDTO saveOrder(PlaceOrderRequestDTO placeOrderRequest) {
+        return saveOrders(List.of(placeOrderRequest)).get(0);
+    }
+
+// 1c. **saveOrder Method** (with a write in the same transaction):
+//    - Same as `saveOrder`; `inTransaction` is called with the result before the order transaction commits,
+//      so what it writes is committed or rolled back together with the order.
+    public PlaceOrderResultDTO saveOrder(PlaceOrderRequestDTO placeOrderRequest, Consumer<PlaceOrderResultDTO> inTransaction) {
+        return saveOrders(List.of(placeOrderRequest), results -> inTransaction.accept(results.get(0))).get(0);
+    }
+
+// 1a. **validateRequest Method**:
+//    - Cheap checks on a request that need no database access, used before an order is queued.
+//    - Return Type: `String` (the reason the request is invalid, or `null` if it can be placed)
+    public String validateRequest(PlaceOrderRequestDTO placeOrderRequest) {
+        if (placeOrderRequest.getStoreId() == null) return "Invalid Store";
+        if (placeOrderRequest.getCustomerEmail() == null || placeOrderRequest.getCustomerEmail().isBlank()) return "Invalid Customer";
         List<PurchaseProductDTO> listProductDTO = placeOrderRequest.getPurchaseProduct();
+        if (listProductDTO == null || listProductDTO.isEmpty()) return "Order has no products";
         for (PurchaseProductDTO productDTO : listProductDTO) {
-            Product product = productRepository.findById(productDTO.getId()).get();
-            
-            Inventory inventory = inventoryRepository.findByProductIdandStoreId(product.getId(), storeId);
-            inventory.setStockLevel(inventory.getStockLevel() - productDTO.getQuantity());
+            if (productDTO.getId() == null || productDTO.getQuantity() == null || productDTO.getQuantity() <= 0) {
+                return "Invalid product or quantity";
+            }
+        }
+        return null;
+    }
+
+// 1b. **saveOrders Method**:
+//    - Places a batch of orders in one transaction; a refused order does not affect the others.
+//    - Customers and stores are loaded with one query each, products (id and price) come from `ProductCache`
+//      and the (product, store) inventory rows come from `InventoryCache` (misses: one query per store), stock is checked in memory and the `OrderDetails` and `OrderItem` rows
+//      are written in one JDBC batch each.
+//    - Lines that cannot be fulfilled are reported back instead of failing with `NoSuchElementException`;
+//      if any line of an order fails nothing is written for that order.
+//    - Stock is taken off with one conditional UPDATE per line (`inventory.stock.mode=atomic`), or through
+//      the `@Version` column of `Inventory`, retrying the whole batch on a conflict (`inventory.stock.mode=optimistic`).
+//    - An order carrying a `reservationId` uses the stock held for it; other orders cannot use stock held by any cart.
+//    - Parameters: `List<PlaceOrderRequestDTO> placeOrderRequests`
+//    - Return Type: `List<PlaceOrderResultDTO>` (one result per request, in the same order)
+    public List<PlaceOrderResultDTO> saveOrders(List<PlaceOrderRequestDTO> placeOrderRequests) {
+        return saveOrders(placeOrderRequests, results -> {});
+    }
+
+    private List<PlaceOrderResultDTO> saveOrders(List<PlaceOrderRequestDTO> placeOrderRequests, Consumer<List<PlaceOrderResultDTO>> inTransaction) {
+        int maxAttempts = "optimistic".equals(stockMode) ? Math.max(1, optimisticMaxRetries) : 1;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    List<PlaceOrderResultDTO> results = placeOrders(placeOrderRequests);
+                    inTransaction.accept(results);
+                    return results;
+                });
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    List<PlaceOrderResultDTO> results = new ArrayList<>(placeOrderRequests.size());
+                    for (int i = 0; i < placeOrderRequests.size(); i++) {
+                        PlaceOrderResultDTO result = new PlaceOrderResultDTO();
+                        result.setError("Stock changed concurrently, please retry");
+                        results.add(result);
+                    }
+                    return results;
+                }
+            }
+        }
+    }
+
+    private List<PlaceOrderResultDTO> placeOrders(List<PlaceOrderRequestDTO> placeOrderRequests) {
+        Set<String> emails = new HashSet<>();
+        Set<Long> storeIds = new HashSet<>();
+        Set<Long> productIds = new HashSet<>();
+        Map<Long, Set<Long>> productIdsByStore = new HashMap<>();
+        for (PlaceOrderRequestDTO request : placeOrderRequests) {
+            if (request.getCustomerEmail() != null) emails.add(request.getCustomerEmail());
+            if (request.getStoreId() != null) storeIds.add(request.getStoreId());
+            if (request.getPurchaseProduct() != null) {
+                for (PurchaseProductDTO productDTO : request.getPurchaseProduct()) {
+                    if (productDTO.getId() != null) {
+                        productIds.add(productDTO.getId());
+                        productIdsByStore.computeIfAbsent(request.getStoreId(), id -> new HashSet<>()).add(productDTO.getId());
+                    }
+                }
+            }
+        }
+        // Serializes this batch with other writers of the same rows until commit
+        inventoryLockManager.lockForTransaction(productIdsByStore);
+
+        Map<String, Customer> customers = new HashMap<>();
+        if (!emails.isEmpty()) {
+            for (Customer customer : customerRepository.findByEmailIn(emails)) {
+                customers.put(customer.getEmail(), customer);
+            }
+        }
+        Map<Long, Store> stores = new HashMap<>();
+        for (Store store : storeRepository.findAllById(storeIds)) {
+            stores.put(store.getId(), store);
+        }
+        Map<Long, ProductCache.CachedProduct> products = productCache.getAll(productIds);
+        // storeId -> productId -> id and stock level of the inventory row, from the inventory cache;
+        // optimistic mode works on the entities instead, since their version is what gets checked
+        Map<Long, Map<Long, InventoryCache.CachedInventory>> inventories = new HashMap<>();
+        Map<Long, Map<Long, Inventory>> inventoryEntities = new HashMap<>();
+        for (Long storeId : stores.keySet()) {
+            Set<Long> storeProductIds = productIdsByStore.get(storeId);
+            if (storeProductIds == null) {
+                continue;
+            }
+            if ("optimistic".equals(stockMode)) {
+                Map<Long, InventoryCache.CachedInventory> storeInventory = new HashMap<>();
+                Map<Long, Inventory> storeEntities = new HashMap<>();
+                for (Inventory inventory : inventoryRepository.findByStoreIdAndProductIds(storeId, storeProductIds)) {
+                    storeInventory.put(inventory.getProduct().getId(), new InventoryCache.CachedInventory(inventory.getId(), inventory.getStockLevel()));
+                    storeEntities.put(inventory.getProduct().getId(), inventory);
+                }
+                inventories.put(storeId, storeInventory);
+                inventoryEntities.put(storeId, storeEntities);
+            } else {
+                inventories.put(storeId, inventoryCache.getAll(storeId, storeProductIds));
+            }
+        }
 
-            OrderItem item = new OrderItem(newOrder, product, productDTO.getQuantity(), productDTO.getTotal());
-            orderItemRepository.save(item);
+        // Stock left for this batch per inventory id, after the orders accepted so far
+        Map<Long, Integer> available = new HashMap<>();
+        List<PlaceOrderResultDTO> results = new ArrayList<>(placeOrderRequests.size());
+        List<PlaceOrderResultDTO> placedResults = new ArrayList<>();
+        List<OrderDetails> newOrders = new ArrayList<>();
+        List<OrderItem> newItems = new ArrayList<>();
+
+        for (PlaceOrderRequestDTO request : placeOrderRequests) {
+            PlaceOrderResultDTO result = new PlaceOrderResultDTO();
+            results.add(result);
+
+            Customer customer = customers.get(request.getCustomerEmail());
+            if (customer == null) {
+                result.setError("Invalid Customer");
+                continue;
+            }
+            Long storeId = request.getStoreId();
+            Store store = stores.get(storeId);
+            if (store == null) {
+                result.setError("Invalid Store");
+                continue;
+            }
+            List<PurchaseProductDTO> listProductDTO = request.getPurchaseProduct();
+            if (listProductDTO == null || listProductDTO.isEmpty()) {
+                result.setError("Order has no products");
+                continue;
+            }
+
+            // Quantity requested per product, summed over duplicate lines and sorted by product id
+            Map<Long, Integer> requested = new TreeMap<>();
+            for (PurchaseProductDTO productDTO : listProductDTO) {
+                if (productDTO.getId() == null || productDTO.getQuantity() == null || productDTO.getQuantity() <= 0) {
+                    result.getFailures().add(new OrderLineFailureDTO(productDTO.getId(), "Invalid product or quantity"));
+                    continue;
+                }
+                requested.merge(productDTO.getId(), productDTO.getQuantity(), Integer::sum);
+            }
+
+            // Stock held for this cart is turned into the decrement below without checking availability again
+            StockReservationService.Reservation reservation = null;
+            if (request.getReservationId() != null) {
+                reservation = stockReservationService.claim(request.getReservationId(), storeId);
+                if (reservation == null) {
+                    result.setError("Reservation expired or not found");
+                    continue;
+                }
+            }
+
+            Map<Long, InventoryCache.CachedInventory> storeInventory = inventories.getOrDefault(storeId, Map.of());
+            for (Map.Entry<Long, Integer> line : requested.entrySet()) {
+                Long productId = line.getKey();
+                InventoryCache.CachedInventory inventory = storeInventory.get(productId);
+                int held = reservation == null ? 0 : reservation.getQuantities().getOrDefault(productId, 0);
+                if (!products.containsKey(productId)) {
+                    result.getFailures().add(new OrderLineFailureDTO(productId, "Product not found"));
+                } else if (inventory == null) {
+                    result.getFailures().add(new OrderLineFailureDTO(productId, "Product not stocked in store " + storeId));
+                } else if (held < line.getValue()) {
+                    // Stock held by other carts is not available to this order
+                    int stock = available.getOrDefault(inventory.id(), inventory.stockLevel())
+                            - stockReservationService.reservedQuantity(storeId, productId) + held;
+                    if (stock < line.getValue()) {
+                        result.getFailures().add(new OrderLineFailureDTO(productId, "Insufficient stock: " + Math.max(0, stock) + " available"));
+                    }
+                }
+            }
+            if (!result.getFailures().isEmpty()) {
+                result.setError("Order could not be placed");
+                if (reservation != null) stockReservationService.unclaim(reservation);
+                continue;
+            }
+
+            if (!takeStock(storeId, requested, storeInventory, inventoryEntities.get(storeId), available, result)) {
+                if (reservation != null) stockReservationService.unclaim(reservation);
+                continue;
+            }
+
+            OrderDetails newOrder = new OrderDetails(); 
+            newOrder.setCustomer(customer);
+            newOrder.setStore(store);
+            newOrder.setTotalPrice(request.getTotalPrice() == null ? 0 : request.getTotalPrice());
+            newOrder.setDate(LocalDateTime.now());
+            newOrders.add(newOrder);
+            placedResults.add(result);
+
+            for (PurchaseProductDTO productDTO : listProductDTO) {
+                ProductCache.CachedProduct product = products.get(productDTO.getId());
+                double price = productDTO.getTotal() != null ? productDTO.getTotal() : product.price() * productDTO.getQuantity();
+                // Only the id of the product is written, so a reference does without loading the entity
+                newItems.add(new OrderItem(newOrder, productRepository.getReferenceById(product.id()), productDTO.getQuantity(), price));
+            }
         }
 
+        orderJdbcRepository.batchInsertOrders(newOrders);
+        orderJdbcRepository.batchInsertOrderItems(newItems);
+        for (int i = 0; i < newOrders.size(); i++) {
+            placedResults.get(i).setOrderId(newOrders.get(i).getId());
+        }
+        return results;
+    }
 
+    // Takes the stock of one validated order; on a lost race the lines already taken are put back
+    private boolean takeStock(Long storeId, Map<Long, Integer> requested, Map<Long, InventoryCache.CachedInventory> storeInventory,
+                              Map<Long, Inventory> storeEntities, Map<Long, Integer> available, PlaceOrderResultDTO result) {
+        List<Map.Entry<Long, Integer>> taken = new ArrayList<>();
+        for (Map.Entry<Long, Integer> line : requested.entrySet()) {
+            InventoryCache.CachedInventory inventory = storeInventory.get(line.getKey());
+            int stock = available.getOrDefault(inventory.id(), inventory.stockLevel());
+            if ("optimistic".equals(stockMode)) {
+                // Checked against the version column when the transaction flushes
+                storeEntities.get(line.getKey()).setStockLevel(stock - line.getValue());
+            } else if (inventoryRepository.decrementStock(line.getKey(), storeId, line.getValue()) == 0) {
+                // Sold by a concurrent order since the inventory was read
+                for (Map.Entry<Long, Integer> undo : taken) {
+                    inventoryRepository.restoreStock(undo.getKey(), storeId, undo.getValue());
+                    available.merge(storeInventory.get(undo.getKey()).id(), undo.getValue(), Integer::sum);
+                }
+                inventoryCache.evict(line.getKey(), storeId);
+                result.getFailures().add(new OrderLineFailureDTO(line.getKey(), "Insufficient stock"));
+                result.setError("Order could not be placed");
+                return false;
+            }
+            available.put(inventory.id(), stock - line.getValue());
+            taken.add(line);
+        }
+        for (Map.Entry<Long, Integer> line : taken) {
+            inventoryCache.adjustAfterCommit(line.getKey(), storeId, -line.getValue());
+            typeaheadService.soldAfterCommit(storeId, line.getKey(), line.getValue());
+        }
+        catalogVersions.storeChangedAfterCommit(storeId);
+        return true;
     }
     
 
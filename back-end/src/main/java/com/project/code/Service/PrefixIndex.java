@@ -0,0 +1,204 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+// Immutable prefix index over the product names of one store, for typeahead.
+// Every word start of every lower-cased name is a key ("samsung galaxy" has "samsung galaxy" and "galaxy"), kept
+// as (product slot, offset) pairs sorted by the text from there on: the leaves of a prefix trie laid out in order,
+// so the completions of a prefix are one contiguous run found by binary search. The names themselves are shared,
+// not copied per key. Changes produce a new index; readers of the old one are never blocked.
+public final class PrefixIndex {
+
+    // One stocked product: what a completion returns, and what it is ranked by.
+    // A product saved without a name is kept with an empty one: it has no keys, so it is never completed.
+    public record Item(long id, String name, double price, int stockLevel, int sold) {
+        public Item {
+            name = name == null ? "" : name;
+        }
+    }
+
+    public static final PrefixIndex EMPTY = new PrefixIndex(List.of());
+
+    private static final int MAX_OFFSET = 0xFFFF;
+
+    private final Item[] items;
+    private final String[] keys;
+    // (slot << 16 | offset), ordered by keys[slot].substring(offset)
+    private final long[] entries;
+    private final Map<Long, Integer> slots;
+
+    public PrefixIndex(Collection<Item> products) {
+        this.items = products.toArray(new Item[0]);
+        this.keys = new String[items.length];
+        this.slots = new HashMap<>(items.length * 2);
+        List<Long> starts = new ArrayList<>(items.length * 3);
+        for (int slot = 0; slot < items.length; slot++) {
+            String key = normalize(items[slot].name());
+            keys[slot] = key;
+            slots.put(items[slot].id(), slot);
+            for (int offset = 0; offset < key.length() && offset <= MAX_OFFSET; offset++) {
+                if (key.charAt(offset) != ' ' && (offset == 0 || key.charAt(offset - 1) == ' ')) {
+                    starts.add((long) slot << 16 | offset);
+                }
+            }
+        }
+        starts.sort(this::compareEntries);
+        this.entries = starts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // Same keys, different counts or prices: shares everything but the items
+    private PrefixIndex(PrefixIndex base, Item[] items) {
+        this.items = items;
+        this.keys = base.keys;
+        this.entries = base.entries;
+        this.slots = base.slots;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    public Item get(long productId) {
+        Integer slot = slots.get(productId);
+        return slot == null ? null : items[slot];
+    }
+
+    public List<Item> items() {
+        return Collections.unmodifiableList(Arrays.asList(items));
+    }
+
+// 1. **with Method**:
+//    - A copy with `changed` items added or replaced and the `removed` product ids left out.
+//    - Only a new name or a different set of products re-sorts the keys; stock, sales and price changes copy the items.
+    public PrefixIndex with(Collection<Item> changed, Collection<Long> removed) {
+        boolean sameKeys = removed.stream().noneMatch(slots::containsKey);
+        for (Item item : changed) {
+            Integer slot = slots.get(item.id());
+            sameKeys &= slot != null && Objects.equals(items[slot].name(), item.name());
+        }
+        if (sameKeys) {
+            Item[] copy = items.clone();
+            for (Item item : changed) {
+                copy[slots.get(item.id())] = item;
+            }
+            return new PrefixIndex(this, copy);
+        }
+        Map<Long, Item> merged = new LinkedHashMap<>();
+        for (Item item : items) {
+            merged.put(item.id(), item);
+        }
+        for (Item item : changed) {
+            merged.put(item.id(), item);
+        }
+        removed.forEach(merged::remove);
+        return new PrefixIndex(merged.values());
+    }
+
+// 2. **complete Method**:
+//    - The products with a word of their name starting with `prefix` (case-insensitive; a prefix with spaces has to
+//      match consecutive words), best first: most units sold, or most stock with `bySales` false.
+//    - At most `limit` products; the run of matching keys is walked once, keeping the best `limit` of them.
+    public List<Item> complete(String prefix, int limit, boolean bySales) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int[] best = new int[limit];
+        long[] bestScores = new long[limit];
+        int n = 0;
+        for (int i = lowerBound(p); i < entries.length; i++) {
+            int slot = (int) (entries[i] >>> 16);
+            int offset = (int) (entries[i] & MAX_OFFSET);
+            if (!keys[slot].startsWith(p, offset)) {
+                break;
+            }
+            long score = score(items[slot], bySales);
+            if (contains(best, n, slot) || (n == limit && score <= bestScores[n - 1])) {
+                continue;
+            }
+            // Insertion into the small sorted array of the best so far
+            int at = n < limit ? n++ : limit - 1;
+            while (at > 0 && bestScores[at - 1] < score) {
+                best[at] = best[at - 1];
+                bestScores[at] = bestScores[at - 1];
+                at--;
+            }
+            best[at] = slot;
+            bestScores[at] = score;
+        }
+        List<Item> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(items[best[i]]);
+        }
+        return result;
+    }
+
+    private static long score(Item item, boolean bySales) {
+        return bySales ? (long) item.sold() << 32 | Math.max(0, item.stockLevel()) : item.stockLevel();
+    }
+
+    private static boolean contains(int[] slots, int n, int slot) {
+        for (int i = 0; i < n; i++) {
+            if (slots[i] == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // First entry whose key is >= `p`
+    private int lowerBound(String p) {
+        int lo = 0;
+        int hi = entries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareKey(entries[mid], p) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int compareEntries(long a, long b) {
+        String keyA = keys[(int) (a >>> 16)];
+        String keyB = keys[(int) (b >>> 16)];
+        int i = (int) (a & MAX_OFFSET);
+        int j = (int) (b & MAX_OFFSET);
+        while (i < keyA.length() && j < keyB.length()) {
+            int c = keyA.charAt(i++) - keyB.charAt(j++);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return (keyA.length() - i) - (keyB.length() - j);
+    }
+
+    private int compareKey(long entry, String p) {
+        String key = keys[(int) (entry >>> 16)];
+        int i = (int) (entry & MAX_OFFSET);
+        int j = 0;
+        while (i < key.length() && j < p.length()) {
+            int c = key.charAt(i++) - p.charAt(j++);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return (key.length() - i) - (p.length() - j);
+    }
+
+    // Lower case with runs of whitespace as one space, so "Galaxy  S21" completes "galaxy s"
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
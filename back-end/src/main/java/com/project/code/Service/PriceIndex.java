@@ -0,0 +1,284 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.ProductPriceView;
+import com.project.code.Repo.ProductRepository;
+
+@Service
+public class PriceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceIndex.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    // Changed products whose prices are read with one query
+    private static final int READ_CHUNK_SIZE = 1000;
+
+    // Product prices in ascending order (ties by id) with the product id at the same position; never modified
+    // once published, so readers need no lock
+    private record Snapshot(double[] prices, long[] ids) {}
+
+    private final ProductRepository productRepository;
+    // Ids of products saved or deleted since the last flush; their prices are read when it runs
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    // Set while a flush started by `changed` is waiting to run
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    // Serializes the writers that build the next snapshot
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(new double[0], new long[0]);
+    private volatile boolean ready;
+
+    @Value("${product.price-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.price-index.max-batch:1000}")
+    private int maxBatch;
+
+    public PriceIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+// 1. **rebuild Method**:
+//    - Loads every product price, a page of ids at a time, and publishes the sorted arrays; runs once the application is up.
+//    - Until it has finished, `isReady` is false and price queries go to the database.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            ready = false;
+            double[] prices = new double[1024];
+            long[] ids = new long[1024];
+            int n = 0;
+            long last = 0;
+            List<ProductPriceView> page;
+            do {
+                page = productRepository.findPricesAfter(last, Limit.of(LOAD_PAGE_SIZE));
+                for (ProductPriceView product : page) {
+                    if (n == ids.length) {
+                        prices = Arrays.copyOf(prices, n * 2);
+                        ids = Arrays.copyOf(ids, n * 2);
+                    }
+                    prices[n] = product.getPrice() == null ? 0 : product.getPrice();
+                    ids[n++] = product.getId();
+                    last = product.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            snapshot = sorted(Arrays.copyOf(prices, n), Arrays.copyOf(ids, n));
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Price index built with {} products", snapshot.ids().length);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+// 2. **changed Method**:
+//    - Queues a product that was saved or deleted, once its transaction has committed; queued products are applied
+//      together by `flush`, on a timer or, in the background, once `product.price-index.max-batch` of them are waiting.
+//    - Only the id is queued: concurrent saves of a product may queue in another order than they committed, so
+//      the price comes from the database when the flush runs.
+    public void changed(Long productId) {
+        if (!enabled || productId == null || productId <= 0) {
+            return;
+        }
+        pending.add(productId);
+        if (pendingCount.incrementAndGet() >= maxBatch && flushRequested.compareAndSet(false, true)) {
+            // Not on the caller's thread, which is serving a request
+            CompletableFuture.runAsync(() -> {
+                try {
+                    flush();
+                } finally {
+                    flushRequested.set(false);
+                }
+            });
+        }
+    }
+
+// 3. **flush Method**:
+//    - Reads the current prices of the queued products, a chunk of ids per query (a product that no longer exists
+//      is removed), applies them to a copy of the arrays and publishes it; readers keep using the previous
+//      snapshot until then and are never blocked.
+    @Scheduled(fixedDelayString = "${product.price-index.flush-millis:200}")
+    public void flush() {
+        if (!enabled || pending.isEmpty() || !writeLock.tryLock()) {
+            return;
+        }
+        Set<Long> changedIds = new LinkedHashSet<>();
+        try {
+            Long id;
+            while ((id = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                changedIds.add(id);
+            }
+            // A price read here is at least as new as every save queued so far, as each is queued after its commit
+            Map<Long, Double> changes = new HashMap<>();
+            List<Long> chunk = new ArrayList<>(READ_CHUNK_SIZE);
+            for (Long changedId : changedIds) {
+                changes.put(changedId, Double.NaN);
+                chunk.add(changedId);
+                if (chunk.size() == READ_CHUNK_SIZE) {
+                    readPrices(chunk, changes);
+                    chunk.clear();
+                }
+            }
+            readPrices(chunk, changes);
+            if (!changes.isEmpty()) {
+                snapshot = apply(snapshot, changes);
+            }
+        } catch (RuntimeException e) {
+            // Read again by the next flush
+            changedIds.forEach(changedId -> {
+                pending.add(changedId);
+                pendingCount.incrementAndGet();
+            });
+            logger.warn("Could not read the prices of {} changed products; retried on the next flush", changedIds.size(), e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+// 4. **range Method**:
+//    - Ids of the products priced between `min` and `max` (inclusive) that `filter` accepts, cheapest first;
+//      at most `limit` of them (0: no limit). The bounds are found by binary search.
+//    - Return Type: `long[]`
+    public long[] range(double min, double max, IntPredicate filter, int limit) {
+        Snapshot current = snapshot;
+        double[] prices = current.prices();
+        long[] ids = current.ids();
+        int cap = limit <= 0 ? Integer.MAX_VALUE : limit;
+        int from = lowerBound(prices, min);
+        int to = upperBound(prices, max);
+        long[] result = new long[Math.max(0, Math.min(cap, to - from))];
+        int n = 0;
+        for (int i = from; i < to && n < result.length; i++) {
+            if (filter.test((int) ids[i])) {
+                result[n++] = ids[i];
+            }
+        }
+        return n == result.length ? result : Arrays.copyOf(result, n);
+    }
+
+    private void readPrices(List<Long> ids, Map<Long, Double> changes) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (ProductPriceView product : productRepository.findPricesByIdIn(ids)) {
+            changes.put(product.getId(), product.getPrice() == null ? 0 : product.getPrice());
+        }
+    }
+
+    // Copy of `current` without the changed ids, merged with their new prices (NaN: removed)
+    private static Snapshot apply(Snapshot current, Map<Long, Double> changes) {
+        int added = 0;
+        double[] addPrices = new double[changes.size()];
+        long[] addIds = new long[changes.size()];
+        for (Map.Entry<Long, Double> change : changes.entrySet()) {
+            if (!change.getValue().isNaN()) {
+                addPrices[added] = change.getValue();
+                addIds[added++] = change.getKey();
+            }
+        }
+        Snapshot additions = sorted(Arrays.copyOf(addPrices, added), Arrays.copyOf(addIds, added));
+        long[] changed = changes.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+
+        double[] oldPrices = current.prices();
+        long[] oldIds = current.ids();
+        double[] prices = new double[oldIds.length + added];
+        long[] ids = new long[oldIds.length + added];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < oldIds.length || j < added) {
+            if (i < oldIds.length && Arrays.binarySearch(changed, oldIds[i]) >= 0) {
+                i++;
+            } else if (j == added || (i < oldIds.length
+                    && compare(oldPrices[i], oldIds[i], additions.prices()[j], additions.ids()[j]) < 0)) {
+                prices[n] = oldPrices[i];
+                ids[n++] = oldIds[i++];
+            } else {
+                prices[n] = additions.prices()[j];
+                ids[n++] = additions.ids()[j++];
+            }
+        }
+        return new Snapshot(Arrays.copyOf(prices, n), Arrays.copyOf(ids, n));
+    }
+
+    // Sorts the parallel arrays by (price, id)
+    private static Snapshot sorted(double[] prices, long[] ids) {
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(prices[a], ids[a], prices[b], ids[b]));
+        double[] sortedPrices = new double[ids.length];
+        long[] sortedIds = new long[ids.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedPrices[i] = prices[order[i]];
+            sortedIds[i] = ids[order[i]];
+        }
+        return new Snapshot(sortedPrices, sortedIds);
+    }
+
+    private static int compare(double priceA, long idA, double priceB, long idB) {
+        int byPrice = Double.compare(priceA, priceB);
+        return byPrice != 0 ? byPrice : Long.compare(idA, idB);
+    }
+
+    // First position holding a price >= `price`
+    private static int lowerBound(double[] prices, double price) {
+        int lo = 0;
+        int hi = prices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[mid] < price) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First position holding a price > `price`
+    private static int upperBound(double[] prices, double price) {
+        int lo = 0;
+        int hi = prices.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[mid] <= price) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
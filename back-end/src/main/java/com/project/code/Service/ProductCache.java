@@ -0,0 +1,319 @@
+package com.project.code.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.Product;
+import com.project.code.Model.ProductView;
+import com.project.code.Repo.ProductRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class ProductCache {
+
+    // Immutable copy of a product's own columns; safe to share between requests, unlike the entity
+    public record CachedProduct(Long id, String name, String category, Double price, String sku) implements ProductView {
+
+        static CachedProduct of(ProductView view) {
+            return new CachedProduct(view.getId(), view.getName(), view.getCategory(), view.getPrice(), view.getSku());
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getCategory() {
+            return category;
+        }
+
+        @Override
+        public Double getPrice() {
+            return price;
+        }
+
+        @Override
+        public String getSku() {
+            return sku;
+        }
+    }
+
+    // Number of generation counters; ids, SKUs and names are spread over them by hash
+    private static final int STRIPES = 64;
+
+    // A cached lookup; `product` is null when the key is known not to exist
+    private record Entry(CachedProduct product, long expiresAtNanos) {}
+
+    private record Expiry(Map<?, Entry> map, Object key, Entry entry) {}
+
+    private final ProductRepository productRepository;
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    // Only served while `byId` holds the same product, so a product's change needs no scan of these
+    private final Map<String, Entry> bySku = new ConcurrentHashMap<>();
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    // Loads in progress; concurrent misses on the same key wait for the one load instead of querying again
+    private final Map<Long, CompletableFuture<Optional<CachedProduct>>> loadingIds = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Optional<CachedProduct>>> loadingKeys = new ConcurrentHashMap<>();
+    // Per stripe, bumped by every invalidation of a key in it; a load that overlapped one of its key's does not
+    // keep what it read, while loads of other keys are unaffected
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final TimerWheel<Expiry> timerWheel;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Value("${product.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.cache.max-size:100000}")
+    private int maxSize;
+
+    @Value("${product.cache.ttl-seconds:300}")
+    private int ttlSeconds;
+
+    public ProductCache(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.timerWheel = new TimerWheel<>("product-cache-expiry", 1000, 1024, expiry -> expiry.map().remove(expiry.key(), expiry.entry()));
+        FunctionCounter.builder("product.cache.gets", hits, LongAdder::sum).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("product.cache.gets", misses, LongAdder::sum).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("product.cache.coalesced", coalesced, LongAdder::sum)
+                .description("Misses answered by a load already in progress for the same key").register(meterRegistry);
+        Gauge.builder("product.cache.hit.ratio", this, ProductCache::hitRatio).register(meterRegistry);
+        Gauge.builder("product.cache.size", byId, Map::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timerWheel.close();
+    }
+
+// 1. **get / getAll Methods**:
+//    - Products by id, loaded on a miss; all misses of one call are loaded with one query.
+//    - Return Type: `Optional<CachedProduct>` / `Map<Long, CachedProduct>` (ids that do not exist are left out)
+    public Optional<CachedProduct> get(Long id) {
+        return Optional.ofNullable(getAll(List.of(id)).get(id));
+    }
+
+    public Map<Long, CachedProduct> getAll(Collection<Long> ids) {
+        Map<Long, CachedProduct> found = new HashMap<>();
+        Map<Long, CompletableFuture<Optional<CachedProduct>>> owned = new HashMap<>();
+        Map<Long, CompletableFuture<Optional<CachedProduct>>> waiting = new HashMap<>();
+        for (Long id : ids) {
+            Entry entry = fresh(byId.get(id));
+            if (entry != null) {
+                hits.increment();
+                if (entry.product() != null) {
+                    found.put(id, entry.product());
+                }
+                continue;
+            }
+            misses.increment();
+            CompletableFuture<Optional<CachedProduct>> load = new CompletableFuture<>();
+            CompletableFuture<Optional<CachedProduct>> running = loadingIds.putIfAbsent(id, load);
+            if (running == null) {
+                owned.put(id, load);
+            } else {
+                coalesced.increment();
+                waiting.put(id, running);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            Map<Long, Long> seen = new HashMap<>();
+            owned.keySet().forEach(id -> seen.put(id, generations.get(stripe(id))));
+            try {
+                Map<Long, CachedProduct> loaded = new HashMap<>();
+                for (ProductView view : productRepository.findViewsByIdIn(owned.keySet())) {
+                    loaded.put(view.getId(), CachedProduct.of(view));
+                }
+                for (Map.Entry<Long, CompletableFuture<Optional<CachedProduct>>> load : owned.entrySet()) {
+                    CachedProduct product = loaded.get(load.getKey());
+                    store(byId, load.getKey(), product, seen.get(load.getKey()));
+                    if (product != null) {
+                        found.put(load.getKey(), product);
+                    }
+                    load.getValue().complete(Optional.ofNullable(product));
+                }
+            } catch (RuntimeException e) {
+                owned.values().forEach(load -> load.completeExceptionally(e));
+                throw e;
+            } finally {
+                owned.forEach(loadingIds::remove);
+            }
+        }
+        // Our own loads are complete before waiting on others, so two callers can never wait on each other
+        for (Map.Entry<Long, CompletableFuture<Optional<CachedProduct>>> load : waiting.entrySet()) {
+            join(load.getValue()).ifPresent(product -> found.put(load.getKey(), product));
+        }
+        return found;
+    }
+
+// 2. **findBySku / findByName Methods**:
+//    - Product by SKU or by exact name (the lowest id if several share it), loaded on a miss; a key that matches
+//      nothing is cached too, so validating a new product does not query either.
+//    - Return Type: `Optional<CachedProduct>`
+    public Optional<CachedProduct> findBySku(String sku) {
+        return lookup(bySku, "sku:", sku, () -> productRepository.findViewBySku(sku));
+    }
+
+    public Optional<CachedProduct> findByName(String name) {
+        return lookup(byName, "name:", name, () -> productRepository.findViewsByName(name).stream().findFirst());
+    }
+
+// 3. **invalidate Methods**:
+//    - Drop everything cached for a product after it was saved or deleted, including the "no such product"
+//      entries of its new SKU and name; removals by key, so the cost does not depend on the size of the cache.
+//    - Entries of its old SKU and name are dropped by key through its cached product; any left behind (e.g. the
+//      product itself was evicted first) are no longer served, as they no longer match the product by id.
+    public void invalidate(Product product) {
+        invalidate(product.getId());
+        if (product.getSku() != null) {
+            generations.incrementAndGet(stripe("sku:" + product.getSku()));
+            bySku.remove(product.getSku());
+        }
+        if (product.getName() != null) {
+            generations.incrementAndGet(stripe("name:" + product.getName()));
+            byName.remove(product.getName());
+        }
+    }
+
+    public void invalidate(Long id) {
+        if (id == null) {
+            return;
+        }
+        generations.incrementAndGet(stripe(id));
+        Entry removed = byId.remove(id);
+        if (removed != null && removed.product() != null) {
+            removeIfFor(bySku, removed.product().sku(), id);
+            removeIfFor(byName, removed.product().name(), id);
+        }
+    }
+
+    public double hitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+
+    private Optional<CachedProduct> lookup(Map<String, Entry> map, String prefix, String key, Supplier<Optional<ProductView>> loader) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        Entry entry = fresh(map.get(key));
+        if (entry != null && (entry.product() == null || isCurrent(entry.product()))) {
+            hits.increment();
+            return Optional.ofNullable(entry.product());
+        }
+        misses.increment();
+        CompletableFuture<Optional<CachedProduct>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<CachedProduct>> running = loadingKeys.putIfAbsent(prefix + key, load);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+        // The product's id, and so its stripe, is only known once loaded
+        long[] seen = new long[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            seen[i] = generations.get(i);
+        }
+        try {
+            Optional<CachedProduct> product = loader.get().map(CachedProduct::of);
+            long seenKey = seen[stripe(prefix + key)];
+            if (product.isEmpty()) {
+                store(map, key, null, prefix + key, seenKey);
+            } else {
+                // The key's entry is only served while the product's is there and the same
+                store(byId, product.get().id(), product.get(), seen[stripe(product.get().id())]);
+                store(map, key, product.get(), prefix + key, seenKey);
+            }
+            load.complete(product);
+            return product;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadingKeys.remove(prefix + key, load);
+        }
+    }
+
+    private Entry fresh(Entry entry) {
+        return entry != null && entry.expiresAtNanos() - System.nanoTime() > 0 ? entry : null;
+    }
+
+    // Whether an entry of `bySku` or `byName` still matches the product cached by id
+    private boolean isCurrent(CachedProduct product) {
+        Entry entry = fresh(byId.get(product.id()));
+        return entry != null && product.equals(entry.product());
+    }
+
+    private static void removeIfFor(Map<String, Entry> map, String key, Long id) {
+        if (key != null) {
+            map.computeIfPresent(key, (k, entry) -> entry.product() != null && id.equals(entry.product().id()) ? null : entry);
+        }
+    }
+
+    private void store(Map<Long, Entry> map, Long id, CachedProduct product, long seen) {
+        store(map, id, product, id, seen);
+    }
+
+    // Keeps what a load that began at generation `seen` of `generationKey`'s stripe read, unless an invalidation
+    // of that stripe overlapped the load
+    private <K> void store(Map<K, Entry> map, K key, CachedProduct product, Object generationKey, long seen) {
+        int stripe = stripe(generationKey);
+        if (!enabled || generations.get(stripe) != seen) {
+            return;
+        }
+        // Up to a tenth shorter, so entries loaded together do not all expire, and reload, together
+        long ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        ttlMillis -= ThreadLocalRandom.current().nextLong(ttlMillis / 10 + 1);
+        Entry entry = new Entry(product, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+        map.put(key, entry);
+        // Checked again once in the map, as an invalidation may have removed the key meanwhile
+        if (generations.get(stripe) != seen) {
+            map.remove(key, entry);
+            return;
+        }
+        timerWheel.schedule(new Expiry(map, key, entry), ttlMillis);
+        BoundedMaps.trim(map, maxSize);
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static Optional<CachedProduct> join(CompletableFuture<Optional<CachedProduct>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.Product;
+import com.project.code.Model.ProductNameView;
+import com.project.code.Model.ProductView;
+import com.project.code.Model.StoreProductView;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.ProductRepository;
+
+@Service
+public class ProductSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchService.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final int FETCH_BATCH_SIZE = 1_000;
+
+    private final ProductRepository productRepository;
+    private final InventoryRepository inventoryRepository;
+    private final CatalogBitmapIndex catalogIndex;
+    private final PriceIndex priceIndex;
+    private final TypeaheadService typeaheadService;
+    private final TrigramIndex nameIndex = new TrigramIndex();
+    private volatile boolean ready;
+
+    @Value("${product.search.index-enabled:true}")
+    private boolean enabled;
+
+    @Value("${product.search.max-results:1000}")
+    private int maxResults;
+
+    public ProductSearchService(ProductRepository productRepository, InventoryRepository inventoryRepository, CatalogBitmapIndex catalogIndex, PriceIndex priceIndex, TypeaheadService typeaheadService) {
+        this.productRepository = productRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.catalogIndex = catalogIndex;
+        this.priceIndex = priceIndex;
+        this.typeaheadService = typeaheadService;
+    }
+
+// 1. **rebuild Method**:
+//    - Loads every product name into the trigram index, a page of ids at a time; runs once the application is up.
+//    - Until it has finished, searches go to the `LIKE` queries of `ProductRepository`.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        nameIndex.clear();
+        long last = 0;
+        List<ProductNameView> page;
+        do {
+            page = productRepository.findNamesAfter(last, Limit.of(LOAD_PAGE_SIZE));
+            for (ProductNameView product : page) {
+                nameIndex.put(Math.toIntExact(product.getId()), product.getName());
+                last = product.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        ready = true;
+        logger.info("Product search index built with {} products", nameIndex.size());
+    }
+
+// 2. **indexProduct / removeProduct Methods**:
+//    - Keep the name index, the category bitmaps, the price index and the typeahead indexes in step with products
+//      saved or deleted through `ProductController`.
+    public void indexProduct(Product product) {
+        if (enabled && product.getId() != null) {
+            nameIndex.put(Math.toIntExact(product.getId()), product.getName());
+        }
+        catalogIndex.indexProduct(product);
+        if (product.getId() != null) {
+            priceIndex.changed(product.getId());
+            typeaheadService.productChanged(product.getId(), product.getName(), product.getPrice());
+        }
+    }
+
+    public void removeProduct(Long productId) {
+        if (enabled) {
+            nameIndex.remove(Math.toIntExact(productId));
+        }
+        catalogIndex.removeProduct(productId, true);
+        priceIndex.changed(productId);
+        typeaheadService.productRemoved(productId);
+    }
+
+// 3. **searchIds Method**:
+//    - Ids of the products whose name contains `name`, ignoring case, in ascending order;
+//      the first `product.search.max-results` of them (0: no limit) that `filter` accepts.
+//    - Return Type: `List<Long>`, or `null` while the index is disabled or not built yet.
+    public List<Long> searchIds(String name, IntPredicate filter) {
+        return find(name, maxResults, filter);
+    }
+
+// 4. **search Methods**:
+//    - Same results as `findViewsBySubName`, `findViewsBySubNameAndCategory`, `findStoreViewsByNameLike` and
+//      `findStoreViewsByNameAndCategory` of `ProductRepository`, which are still used when the index is not available.
+//    - `category` may be `null` for any category; `storeId` limits the results to products the store stocks.
+//    - Store and category are checked against the bitmaps of `CatalogBitmapIndex` while walking the name matches;
+//      without them the category is checked on the loaded products, so a category search takes every name match first.
+    public List<ProductView> search(String name, String category) {
+        if (category == null) {
+            List<Long> ids = searchIds(name, id -> true);
+            return ids == null ? productRepository.findViewsBySubName(name) : load(ids, null);
+        }
+        if (catalogIndex.isReady()) {
+            RoaringBitmap inCategory = catalogIndex.products(null, category);
+            List<Long> ids = searchIds(name, inCategory::contains);
+            if (ids != null) {
+                return load(ids, null);
+            }
+        }
+        List<Long> ids = searchAll(name, id -> true);
+        return ids == null ? productRepository.findViewsBySubNameAndCategory(name, category) : load(ids, category);
+    }
+
+    public List<StoreProductView> searchInStore(Long storeId, String name, String category) {
+        if (!enabled || !ready) {
+            return category == null ? productRepository.findStoreViewsByNameLike(storeId, name)
+                    : productRepository.findStoreViewsByNameAndCategory(storeId, name, category);
+        }
+        if (catalogIndex.isReady()) {
+            RoaringBitmap stocked = catalogIndex.products(storeId, category);
+            return loadInStore(storeId, searchIds(name, stocked::contains), null);
+        }
+        Set<Long> stocked = new HashSet<>(inventoryRepository.findProductIdsByStoreId(storeId));
+        IntPredicate inStore = id -> stocked.contains((long) id);
+        return loadInStore(storeId, category == null ? searchIds(name, inStore) : searchAll(name, inStore), category);
+    }
+
+// 5. **filter Method**:
+//    - Every product of `category` that the store stocks, ordered by id: the intersection of the store's and the
+//      category's bitmaps, then one batched fetch of the products left.
+//    - Same results as `findStoreViewsByCategory` of `ProductRepository`, which is used until the bitmaps are built.
+    public List<StoreProductView> filter(Long storeId, String category) {
+        if (!catalogIndex.isReady()) {
+            return productRepository.findStoreViewsByCategory(storeId, category);
+        }
+        RoaringBitmap ids = catalogIndex.products(storeId, category);
+        List<StoreProductView> products = new ArrayList<>(ids.getCardinality());
+        List<Long> batch = new ArrayList<>(FETCH_BATCH_SIZE);
+        for (int id : ids) {
+            batch.add((long) id);
+            if (batch.size() == FETCH_BATCH_SIZE) {
+                products.addAll(productRepository.findStoreViewsByIdIn(storeId, batch));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            products.addAll(productRepository.findStoreViewsByIdIn(storeId, batch));
+        }
+        products.sort(Comparator.comparing(ProductView::getId));
+        return products;
+    }
+
+// 6. **priceRange Method**:
+//    - Products priced between `min` and `max` (inclusive), cheapest first, at most `product.search.max-results`;
+//      `category` and `storeId` may be `null` for no restriction, and with a store each product has its stock level.
+//    - The bounds are binary-searched in `PriceIndex` and the category and store checked against the bitmaps of
+//      `CatalogBitmapIndex`, so only the products returned are read; without the indexes `findViewsByPriceBetween`
+//      or `findStoreViewsByPriceBetween` of `ProductRepository` is used.
+    public List<? extends ProductView> priceRange(double min, double max, String category, Long storeId) {
+        boolean filtered = category != null || storeId != null;
+        if (!priceIndex.isReady() || (filtered && !catalogIndex.isReady())) {
+            Limit limit = category == null && maxResults > 0 ? Limit.of(maxResults) : Limit.unlimited();
+            List<? extends ProductView> products = storeId == null
+                    ? productRepository.findViewsByPriceBetween(min, max, limit)
+                    : productRepository.findStoreViewsByPriceBetween(storeId, min, max, limit);
+            if (category == null) {
+                return products;
+            }
+            return products.stream().filter(product -> category.equals(product.getCategory()))
+                    .limit(maxResults > 0 ? maxResults : Long.MAX_VALUE).toList();
+        }
+        IntPredicate filter = id -> true;
+        if (filtered) {
+            RoaringBitmap allowed = catalogIndex.products(storeId, category);
+            filter = allowed::contains;
+        }
+        long[] ids = priceIndex.range(min, max, filter, maxResults);
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+        List<Long> idList = Arrays.stream(ids).boxed().toList();
+        List<? extends ProductView> loaded = storeId == null
+                ? productRepository.findViewsByIdIn(idList)
+                : productRepository.findStoreViewsByIdIn(storeId, idList);
+        // Back into the order of the index
+        Map<Long, ProductView> byId = new HashMap<>();
+        for (ProductView product : loaded) {
+            byId.put(product.getId(), product);
+        }
+        List<ProductView> products = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            ProductView product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private List<Long> searchAll(String name, IntPredicate filter) {
+        return find(name, 0, filter);
+    }
+
+    private List<Long> find(String name, int limit, IntPredicate filter) {
+        if (!enabled || !ready) {
+            return null;
+        }
+        int[] ids = nameIndex.search(name, limit, filter);
+        List<Long> result = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            result.add((long) id);
+        }
+        return result;
+    }
+
+    private List<ProductView> load(List<Long> ids, String category) {
+        return ids.isEmpty() ? new ArrayList<>() : limit(new ArrayList<>(productRepository.findViewsByIdIn(ids)), category);
+    }
+
+    private List<StoreProductView> loadInStore(Long storeId, List<Long> ids, String category) {
+        return ids.isEmpty() ? new ArrayList<>() : limit(new ArrayList<>(productRepository.findStoreViewsByIdIn(storeId, ids)), category);
+    }
+
+    private <T extends ProductView> List<T> limit(List<T> products, String category) {
+        if (category != null) {
+            products.removeIf(product -> !category.equals(product.getCategory()));
+        }
+        products.sort(Comparator.comparing(ProductView::getId));
+        if (maxResults > 0 && products.size() > maxResults) {
+            return new ArrayList<>(products.subList(0, maxResults));
+        }
+        return products;
+    }
+}
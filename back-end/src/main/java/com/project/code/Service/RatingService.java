@@ -0,0 +1,177 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.RatingAggregateDTO;
+import com.project.code.Model.RatingSummary;
+import com.project.code.Model.Review;
+import com.project.code.Repo.RatingSummaryRepository;
+
+@Service
+public class RatingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RatingService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final RatingSummaryRepository ratingSummaryRepository;
+    private final TopRatedService topRatedService;
+
+    public RatingService(MongoTemplate mongoTemplate, RatingSummaryRepository ratingSummaryRepository, TopRatedService topRatedService) {
+        this.mongoTemplate = mongoTemplate;
+        this.ratingSummaryRepository = ratingSummaryRepository;
+        this.topRatedService = topRatedService;
+    }
+
+// 1. **addReview Method**:
+//    - Saves a review and adds its rating to the summary of its (store, product), creating the summary if needed.
+//    - The summary is changed with one atomic `$inc` upsert, so concurrent reviews of a product are all counted,
+//      and the product is re-ranked in its store's top rated list of `TopRatedService` with the new totals.
+//    - Parameters: `Review review` (rating from 1 to 5)
+//    - Return Type: `Review` (as saved, with its id)
+    public Review addReview(Review review) {
+        Review saved = mongoTemplate.insert(review);
+        topRatedService.update(apply(saved, 1));
+        return saved;
+    }
+
+// 2. **deleteReview Method**:
+//    - Deletes a review and takes its rating off the summary; the review is removed and returned in one operation,
+//      so deleting it twice concurrently takes its rating off only once.
+//    - Return Type: `boolean` (`false` if there is no review with that id)
+    public boolean deleteReview(String reviewId) {
+        Review removed = mongoTemplate.findAndRemove(Query.query(Criteria.where("_id").is(reviewId)), Review.class);
+        if (removed == null) {
+            return false;
+        }
+        topRatedService.update(apply(removed, -1));
+        return true;
+    }
+
+// 3. **getAggregates Method**:
+//    - Count, average and histogram of the ratings of each product of a page in one store, read with one query.
+//    - Products without reviews are included with a count of 0.
+//    - Return Type: `List<RatingAggregateDTO>` (in the order of `productIds`)
+    public List<RatingAggregateDTO> getAggregates(Long storeId, Collection<Long> productIds) {
+        List<String> keys = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            keys.add(RatingSummary.key(storeId, productId));
+        }
+        Map<Long, RatingSummary> summaries = new HashMap<>();
+        for (RatingSummary summary : ratingSummaryRepository.findAllById(keys)) {
+            summaries.put(summary.getProductId(), summary);
+        }
+        List<RatingAggregateDTO> aggregates = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            aggregates.add(RatingAggregateDTO.of(productId, summaries.get(productId)));
+        }
+        return aggregates;
+    }
+
+// 4. **rebuild Method**:
+//    - Recomputes every summary from the reviews with one aggregation in the database, e.g. for reviews written
+//      before the summaries existed; summaries of products whose reviews are all gone are dropped.
+//    - Each summary written is stamped with the rebuild's generation in `g`, and the dropped ones are those with
+//      another (or none), so the delete is one small query however many summaries there are.
+//    - Reviews added or deleted while it runs may be counted twice or not at all; run it when reviews are quiet.
+//    - The top rated lists are recomputed from the new summaries afterwards.
+//    - Return Type: `int` (number of summaries written)
+    public int rebuild() {
+        GroupOperation group = Aggregation.group("storeId", "productId").count().as("n").sum("rating").as("t");
+        for (int r = 1; r <= 5; r++) {
+            group = group.sum(ConditionalOperators.when(Criteria.where("rating").is(r)).then(1).otherwise(0)).as(RatingSummary.bucket(r));
+        }
+        ObjectId generation = new ObjectId();
+        int written = 0;
+        for (Document totals : mongoTemplate.aggregate(Aggregation.newAggregation(group), Review.class, Document.class)) {
+            Document id = totals.get("_id", Document.class);
+            Long storeId = ((Number) id.get("storeId")).longValue();
+            Long productId = ((Number) id.get("productId")).longValue();
+            Update update = new Update().set("g", generation).set("s", storeId).set("p", productId)
+                    .set("n", ((Number) totals.get("n")).longValue()).set("t", ((Number) totals.get("t")).longValue());
+            for (int r = 1; r <= 5; r++) {
+                update.set(RatingSummary.bucket(r), ((Number) totals.get(RatingSummary.bucket(r))).longValue());
+            }
+            mongoTemplate.upsert(Query.query(Criteria.where("_id").is(RatingSummary.key(storeId, productId))), update, RatingSummary.class);
+            written++;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("g").ne(generation)), RatingSummary.class);
+        logger.info("Rating summaries rebuilt for {} products", written);
+        topRatedService.recompute();
+        return written;
+    }
+
+// 5. **countAll Method**:
+//    - Adds the ratings of reviews already inserted, e.g. by a bulk import, to their summaries: one `$inc` upsert per
+//      (store, product) of the batch with its totals, sent together as one unordered bulk write.
+//    - The changed summaries are then read back with one query to re-rank their products in the top rated lists.
+//    - Parameters: `Collection<Review> reviews` (ratings from 1 to 5); throws `IllegalArgumentException`, before
+//      anything is written, if a rating is out of range.
+    public void countAll(Collection<Review> reviews) {
+        // Per summary: the first review (for its store and product), then count, sum and the five buckets
+        Map<String, Review> firsts = new HashMap<>();
+        Map<String, long[]> totals = new HashMap<>();
+        for (Review review : reviews) {
+            if (review.getRating() < 1 || review.getRating() > 5) {
+                throw new IllegalArgumentException("rating must be between 1 and 5: " + review.getRating());
+            }
+            String key = RatingSummary.key(review.getStoreId(), review.getProductId());
+            firsts.putIfAbsent(key, review);
+            long[] total = totals.computeIfAbsent(key, k -> new long[7]);
+            total[0]++;
+            total[1] += review.getRating();
+            total[1 + review.getRating()]++;
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RatingSummary.class);
+        totals.forEach((key, total) -> {
+            Update update = new Update()
+                    .setOnInsert("s", firsts.get(key).getStoreId())
+                    .setOnInsert("p", firsts.get(key).getProductId())
+                    .inc("n", total[0])
+                    .inc("t", total[1]);
+            for (int r = 1; r <= 5; r++) {
+                if (total[1 + r] > 0) {
+                    update.inc(RatingSummary.bucket(r), total[1 + r]);
+                }
+            }
+            bulk.upsert(Query.query(Criteria.where("_id").is(key)), update);
+        });
+        bulk.execute();
+        for (RatingSummary summary : ratingSummaryRepository.findAllById(totals.keySet())) {
+            topRatedService.update(summary);
+        }
+    }
+
+    // Adds (`sign` 1) or takes off (-1) one review's rating; returns the summary after the change
+    private RatingSummary apply(Review review, int sign) {
+        Update update = new Update()
+                .setOnInsert("s", review.getStoreId())
+                .setOnInsert("p", review.getProductId())
+                .inc("n", sign)
+                .inc("t", sign * review.getRating())
+                .inc(RatingSummary.bucket(review.getRating()), sign);
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(RatingSummary.key(review.getStoreId(), review.getProductId()))),
+                update, FindAndModifyOptions.options().upsert(true).returnNew(true), RatingSummary.class);
+    }
+}
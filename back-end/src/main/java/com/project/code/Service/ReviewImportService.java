@@ -0,0 +1,227 @@
+package com.project.code.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.project.code.Model.Review;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+public class ReviewImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewImportService.class);
+    // Rejected records listed in the report; the rest are only counted
+    private static final int MAX_REJECTS_REPORTED = 100;
+
+    // Outcome of one import; `unknown` reviews were in a batch whose write failed without saying which were written
+    public record Report(long read, long inserted, long rejected, long unknown, List<String> rejects, List<String> unknownBatches,
+                         long millis, long reviewsPerSecond) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final RatingService ratingService;
+    private final ReviewService reviewService;
+
+    @Value("${review.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${review.import.parallelism:4}")
+    private int parallelism;
+
+    public ReviewImportService(MongoTemplate mongoTemplate, ObjectMapper objectMapper, Validator validator,
+                               RatingService ratingService, ReviewService reviewService) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.ratingService = ratingService;
+        this.reviewService = reviewService;
+    }
+
+// 1. **importReviews Method**:
+//    - Reads a JSON array of reviews (the format of `reviews.json`) one element at a time with the streaming parser,
+//      so the input is never held in memory, and checks each against the constraints of `Review`.
+//    - Every `review.import.batch-size` valid reviews are written with one unordered bulk insert, up to
+//      `review.import.parallelism` batches at a time; reading waits while that many are in flight, so memory use
+//      does not depend on the size of the input.
+//    - The rating summaries are updated with the reviews of each batch that were inserted, and the review indexes
+//      are created first if missing, so pages and aggregates are consistent once the import returns.
+//    - Parameters: `InputStream in` (request body)
+//    - A batch whose write fails as a whole (e.g. a timeout) may still have been written in part: its reviews are
+//      counted as `unknown` rather than rejected, listed by range of positions, and are not added to the summaries;
+//      `POST /reviews/ratings/rebuild` recounts them once the batch's outcome has been checked.
+//    - Return Type: `Report` (records read, inserted, rejected and unknown, the first rejects with their position in
+//      the array, the batches of unknown outcome, time taken and throughput); throws `IllegalArgumentException` if
+//      the input is not a JSON array.
+    public Report importReviews(InputStream in) throws IOException {
+        long start = System.nanoTime();
+        int size = Math.max(1, batchSize);
+        int threads = Math.max(1, parallelism);
+        AtomicLong inserted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong unknown = new AtomicLong();
+        List<String> rejects = Collections.synchronizedList(new ArrayList<>());
+        List<String> unknownBatches = Collections.synchronizedList(new ArrayList<>());
+        Semaphore inFlight = new Semaphore(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long read = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of reviews");
+            }
+            reviewService.ensureIndexes();
+            List<Review> batch = new ArrayList<>(size);
+            List<Long> positions = new ArrayList<>(size);
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IllegalArgumentException("Unexpected end of input after " + read + " reviews");
+                }
+                long position = read++;
+                // A tree first, so a record of the wrong shape is rejected without losing the parser's place
+                JsonNode node = parser.readValueAsTree();
+                String error = null;
+                Review review = null;
+                try {
+                    review = objectMapper.treeToValue(node, Review.class);
+                    error = validate(review);
+                } catch (IOException | IllegalArgumentException e) {
+                    error = "Invalid input: The data provided is not valid.";
+                }
+                if (error != null) {
+                    reject(rejected, rejects, position, error);
+                    continue;
+                }
+                batch.add(review);
+                positions.add(position);
+                if (batch.size() == size) {
+                    submit(executor, inFlight, batch, positions, inserted, rejected, rejects, unknown, unknownBatches);
+                    batch = new ArrayList<>(size);
+                    positions = new ArrayList<>(size);
+                }
+            }
+            submit(executor, inFlight, batch, positions, inserted, rejected, rejects, unknown, unknownBatches);
+            // Every batch has finished once all permits are back
+            inFlight.acquireUninterruptibly(threads);
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed JSON after " + read + " reviews: " + e.getOriginalMessage());
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long perSecond = millis == 0 ? inserted.get() : inserted.get() * 1000 / millis;
+        logger.info("Imported {} of {} reviews in {} ms ({} per second), {} rejected, {} unknown",
+                inserted.get(), read, millis, perSecond, rejected.get(), unknown.get());
+        return new Report(read, inserted.get(), rejected.get(), unknown.get(), new ArrayList<>(rejects), new ArrayList<>(unknownBatches),
+                millis, perSecond);
+    }
+
+    private String validate(Review review) {
+        Set<ConstraintViolation<Review>> violations = validator.validate(review);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(v -> v.getPropertyPath() + ": " + v.getMessage()).sorted().toList().toString();
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, List<Review> batch, List<Long> positions,
+                        AtomicLong inserted, AtomicLong rejected, List<String> rejects,
+                        AtomicLong unknown, List<String> unknownBatches) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        inFlight.acquireUninterruptibly();
+        executor.execute(() -> {
+            try {
+                List<Review> written;
+                try {
+                    written = insert(batch, positions, rejected, rejects);
+                } catch (RuntimeException e) {
+                    // Some of the batch may have been written before the failure: neither inserted nor rejected
+                    logger.warn("Review import batch #{} to #{} failed, outcome unknown; check it, then POST /reviews/ratings/rebuild",
+                            positions.get(0), positions.get(positions.size() - 1), e);
+                    unknown.addAndGet(batch.size());
+                    synchronized (unknownBatches) {
+                        if (unknownBatches.size() < MAX_REJECTS_REPORTED) {
+                            unknownBatches.add("#" + positions.get(0) + " to #" + positions.get(positions.size() - 1) + " (" + batch.size()
+                                    + " reviews): may be partly written: " + e.getMessage());
+                        }
+                    }
+                    return;
+                }
+                inserted.addAndGet(written.size());
+                try {
+                    ratingService.countAll(written);
+                } catch (RuntimeException e) {
+                    logger.warn("Rating summaries missed {} imported reviews; POST /reviews/ratings/rebuild recounts them", written.size(), e);
+                }
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    // The reviews of the batch that were inserted; the ones the bulk write refused are rejected
+    private List<Review> insert(List<Review> batch, List<Long> positions, AtomicLong rejected, List<String> rejects) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class).insert(batch).execute();
+            return batch;
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                reject(rejected, rejects, positions.get(error.getIndex()), error.getMessage());
+            }
+            List<Review> written = new ArrayList<>(batch.size() - failed.size());
+            for (int i = 0; i < batch.size(); i++) {
+                if (!failed.contains(i)) {
+                    written.add(batch.get(i));
+                }
+            }
+            return written;
+        }
+    }
+
+    private static void reject(AtomicLong rejected, List<String> rejects, long position, String reason) {
+        rejected.incrementAndGet();
+        synchronized (rejects) {
+            if (rejects.size() < MAX_REJECTS_REPORTED) {
+                rejects.add("#" + position + ": " + reason);
+            }
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(1, TimeUnit.HOURS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.code.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.Review;
+
+@Service
+public class ReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+
+    // Newest first, or best rated first (newest first within a rating)
+    public enum Order {
+        NEWEST, RATING;
+
+        // From the `sort` request parameter
+        public static Order of(String sort) {
+            for (Order order : values()) {
+                if (order.name().equalsIgnoreCase(sort)) {
+                    return order;
+                }
+            }
+            throw new IllegalArgumentException("Invalid sort: " + sort + " (newest or rating)");
+        }
+    }
+
+    // One page of reviews and the cursor of the next one (`null` on the last page)
+    public record Page(List<Review> reviews, String nextCursor) {}
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${review.page.max-size:100}")
+    private int maxPageSize;
+
+    public ReviewService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+// 1. **ensureIndexes Methods**:
+//    - Create, if missing, the indexes the pages are read from: (storeId, productId, _id) and
+//      (storeId, productId, rating, _id); with them a page costs one index range scan of `limit` entries.
+//    - Run in the background once the application is up, so startup does not wait for MongoDB, and before every import.
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesInBackground() {
+        CompletableFuture.runAsync(() -> {
+            try {
+                ensureIndexes();
+            } catch (RuntimeException e) {
+                logger.warn("Could not create the review indexes", e);
+            }
+        });
+    }
+
+    public void ensureIndexes() {
+        mongoTemplate.indexOps(Review.class).ensureIndex(new Index().named("store_product_id")
+                .on("storeId", Sort.Direction.ASC).on("productId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+        mongoTemplate.indexOps(Review.class).ensureIndex(new Index().named("store_product_rating_id")
+                .on("storeId", Sort.Direction.ASC).on("productId", Sort.Direction.ASC)
+                .on("rating", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+    }
+
+// 2. **page Method**:
+//    - The reviews of a product in a store after `cursor`, in `order`; one query whatever the page's position
+//      or the number of reviews.
+//    - Parameters: `String cursor` (`nextCursor` of the previous page, or `null` for the first), `int limit` (capped at
+//      `review.page.max-size`), `boolean withComments` (`false` leaves the comment bodies out)
+//    - Return Type: `Page`; throws `IllegalArgumentException` for a cursor that was not issued for this order.
+    public Page page(Long storeId, Long productId, Order order, String cursor, int limit, boolean withComments) {
+        int size = Math.max(1, Math.min(limit, maxPageSize));
+        Criteria criteria = Criteria.where("storeId").is(storeId).and("productId").is(productId);
+        if (cursor != null) {
+            criteria = criteria.andOperator(after(order, cursor));
+        }
+        Query query = Query.query(criteria)
+                .with(order == Order.RATING ? Sort.by(Sort.Direction.DESC, "rating", "_id") : Sort.by(Sort.Direction.DESC, "_id"))
+                // One extra row tells whether there is a next page
+                .limit(size + 1);
+        if (!withComments) {
+            query.fields().exclude("comment");
+        }
+        List<Review> reviews = mongoTemplate.find(query, Review.class);
+        if (reviews.size() <= size) {
+            return new Page(reviews, null);
+        }
+        reviews = reviews.subList(0, size);
+        Review last = reviews.get(size - 1);
+        return new Page(reviews, order == Order.RATING ? last.getRating() + "_" + last.getId() : last.getId());
+    }
+
+    // Reviews after the one `cursor` points at, in `order`
+    private static Criteria after(Order order, String cursor) {
+        if (order == Order.NEWEST) {
+            return Criteria.where("_id").lt(objectId(cursor));
+        }
+        String[] parts = cursor.split("_", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        int rating;
+        try {
+            rating = Integer.parseInt(parts[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        ObjectId id = objectId(parts[1]);
+        return new Criteria().orOperator(Criteria.where("rating").lt(rating),
+                Criteria.where("rating").is(rating).and("_id").lt(id));
+    }
+
+    private static ObjectId objectId(String cursor) {
+        if (!ObjectId.isValid(cursor)) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return new ObjectId(cursor);
+    }
+}
@@ -4,17 +4,18 @@ import org.springframework.stereotype.Service;
 
 import com.project.code.Model.*;
 import com.project.code.Repo.InventoryRepository;
-import com.project.code.Repo.ProductRepository;
 
 @Service
 public class ServiceClass {
     
     private final InventoryRepository inventoryRepository;
-    private final ProductRepository productRepository;
+    private final InventoryCache inventoryCache;
+    private final ProductCache productCache;
 
-    public ServiceClass(InventoryRepository inventoryRepository, ProductRepository productRepository) {
+    public ServiceClass(InventoryRepository inventoryRepository, InventoryCache inventoryCache, ProductCache productCache) {
         this.inventoryRepository = inventoryRepository;
-        this.productRepository = productRepository;
+        this.inventoryCache = inventoryCache;
+        this.productCache = productCache;
     }
  
 // 1. **validateInventory Method**:
@@ -24,8 +25,7 @@ public class ServiceClass {
     public boolean validateInventory(Inventory inventory) {
         Long productId = inventory.getProduct().getId();
         Long storeId = inventory.getStore().getId();
-        Inventory foundInventory = inventoryRepository.findByProductIdandStoreId(productId, storeId);
-        return foundInventory != null;
+        return inventoryCache.get(productId, storeId) != null;
     }    
 // 2. **validateProduct Method**:
 //    - Checks if a product exists by its name.
@@ -33,8 +33,7 @@ public class ServiceClass {
 //    - Return Type: `boolean` (Returns `false` if a product with the same name exists, otherwise `true`)
 
     public boolean validateProduct(Product product) {
-        Product targeProduct = productRepository.findByName(product.getName());
-        return targeProduct != null;
+        return productCache.findByName(product.getName()).isPresent();
     }
 
 // 3. **ValidateProductId Method**:
@@ -42,8 +41,7 @@ public class ServiceClass {
 //    - Parameters: `long id`
 //    - Return Type: `boolean` (Returns `false` if the product does not exist with the given ID, otherwise `true`)
     public boolean ValidateProductId(Long id) {
-        Product targeProduct = productRepository.findById(id).get();
-        return targeProduct != null;
+        return productCache.get(id).isPresent();
     }
 // 4. **getInventoryId Method**:
 //    - Fetches the inventory record for a given product and store combination.
@@ -52,7 +50,8 @@ public class ServiceClass {
     public Inventory getInventoryId(Inventory inventory) {
         Long productId = inventory.getProduct().getId();
         Long storeId = inventory.getStore().getId();
-        Inventory foundInventory = inventoryRepository.findByProductIdandStoreId(productId, storeId);
-        return foundInventory;    
+        InventoryCache.CachedInventory cached = inventoryCache.get(productId, storeId);
+        if (cached == null) return null;
+        return inventoryRepository.findById(cached.id()).orElse(null);    
     }
 }
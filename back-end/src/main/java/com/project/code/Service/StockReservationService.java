@@ -0,0 +1,200 @@
+package com.project.code.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.OrderLineFailureDTO;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class StockReservationService {
+
+    private enum State { ACTIVE, CLAIMED, DONE }
+
+    // Time-limited hold on some quantity of several products of one store
+    public static final class Reservation {
+        private final String id;
+        private final Long storeId;
+        private final Map<Long, Integer> quantities;
+        private final long expiresAt;
+        private final AtomicReference<State> state = new AtomicReference<>(State.ACTIVE);
+
+        private Reservation(String id, Long storeId, Map<Long, Integer> quantities, long expiresAt) {
+            this.id = id;
+            this.storeId = storeId;
+            this.quantities = Collections.unmodifiableMap(quantities);
+            this.expiresAt = expiresAt;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getStoreId() {
+            return storeId;
+        }
+
+        public Map<Long, Integer> getQuantities() {
+            return quantities;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+
+    private final InventoryCache inventoryCache;
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    // Held quantity per packed (productId, storeId) key, summed over all live reservations
+    private final ConcurrentHashMap<Long, Integer> reserved = new ConcurrentHashMap<>();
+    private final TimerWheel<Reservation> timerWheel;
+
+    @Value("${inventory.reservation.ttl-seconds:900}")
+    private int defaultTtlSeconds;
+
+    @Value("${inventory.reservation.max-ttl-seconds:3600}")
+    private int maxTtlSeconds;
+
+    public StockReservationService(InventoryCache inventoryCache,
+                                   @Value("${inventory.reservation.tick-millis:100}") long tickMillis) {
+        this.inventoryCache = inventoryCache;
+        this.timerWheel = new TimerWheel<>("reservation-expiry", tickMillis, 1024, this::expire);
+    }
+
+    @PreDestroy
+    public void stop() {
+        timerWheel.close();
+    }
+
+// 1. **reserve Method**:
+//    - Places holds on `quantities` (productId -> quantity) in one store, counted against the available stock.
+//    - Either every line is held or none is; lines that cannot be held are added to `failures`.
+//    - Return Type: `Reservation`, or `null` if any line failed.
+    public Reservation reserve(Long storeId, Map<Long, Integer> quantities, Integer ttlSeconds, List<OrderLineFailureDTO> failures) {
+        Map<Long, InventoryCache.CachedInventory> stock = inventoryCache.getAll(storeId, quantities.keySet());
+
+        Map<Long, Integer> held = new HashMap<>();
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            InventoryCache.CachedInventory inventory = stock.get(line.getKey());
+            if (inventory == null) {
+                failures.add(new OrderLineFailureDTO(line.getKey(), "Product not stocked in store " + storeId));
+                break;
+            }
+            if (!hold(InventoryKeys.pack(line.getKey(), storeId), inventory.stockLevel(), line.getValue())) {
+                failures.add(new OrderLineFailureDTO(line.getKey(), "Insufficient stock: " + (inventory.stockLevel() - reservedQuantity(storeId, line.getKey())) + " available"));
+                break;
+            }
+            held.put(line.getKey(), line.getValue());
+        }
+        if (!failures.isEmpty()) {
+            unhold(storeId, held);
+            return null;
+        }
+
+        int ttl = ttlSeconds == null || ttlSeconds <= 0 ? defaultTtlSeconds : Math.min(ttlSeconds, maxTtlSeconds);
+        Reservation reservation = new Reservation(UUID.randomUUID().toString(), storeId, held,
+                System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttl));
+        reservations.put(reservation.getId(), reservation);
+        timerWheel.schedule(reservation, TimeUnit.SECONDS.toMillis(ttl));
+        return reservation;
+    }
+
+// 2. **release Method**:
+//    - Gives the held stock of a reservation back, e.g. when a cart is abandoned.
+//    - Return Type: `boolean` (false if the reservation is unknown, expired or being turned into an order)
+    public boolean release(String reservationId) {
+        Reservation reservation = reservations.get(reservationId);
+        return reservation != null && finish(reservation, State.ACTIVE);
+    }
+
+// 3. **reservedQuantity Method**:
+//    - Quantity of a product held by all live reservations in a store; to be subtracted from its stock level.
+    public int reservedQuantity(Long storeId, Long productId) {
+        return reserved.getOrDefault(InventoryKeys.pack(productId, storeId), 0);
+    }
+
+// 4. **claim Method**:
+//    - Called by `OrderService` inside the order transaction; the holds can then neither expire nor be claimed twice.
+//    - On commit the holds are dropped (the stock is decremented by then); on rollback the reservation is live again.
+//    - Return Type: `Reservation`, or `null` if it is unknown, expired, for another store or already claimed.
+    public Reservation claim(String reservationId, Long storeId) {
+        Reservation reservation = reservations.get(reservationId);
+        if (reservation == null || !reservation.getStoreId().equals(storeId)) {
+            return null;
+        }
+        // The timer may fire late (a timeout scheduled while the wheel passes its bucket waits a full turn),
+        // so the deadline itself is what decides
+        if (System.currentTimeMillis() >= reservation.getExpiresAt()) {
+            expire(reservation);
+            return null;
+        }
+        if (!reservation.state.compareAndSet(State.ACTIVE, State.CLAIMED)) {
+            return null;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    finish(reservation, State.CLAIMED);
+                } else {
+                    unclaim(reservation);
+                }
+            }
+        });
+        return reservation;
+    }
+
+// 5. **unclaim Method**:
+//    - Makes a claimed reservation live again, for an order that was refused after claiming it.
+    public void unclaim(Reservation reservation) {
+        if (reservation.state.compareAndSet(State.CLAIMED, State.ACTIVE)
+                && System.currentTimeMillis() >= reservation.getExpiresAt()) {
+            expire(reservation);
+        }
+    }
+
+    private void expire(Reservation reservation) {
+        finish(reservation, State.ACTIVE);
+    }
+
+    private boolean finish(Reservation reservation, State from) {
+        if (!reservation.state.compareAndSet(from, State.DONE)) {
+            return false;
+        }
+        reservations.remove(reservation.getId());
+        unhold(reservation.getStoreId(), reservation.getQuantities());
+        return true;
+    }
+
+    private boolean hold(long key, int stockLevel, int quantity) {
+        boolean[] held = { false };
+        reserved.compute(key, (k, current) -> {
+            int alreadyHeld = current == null ? 0 : current;
+            if (stockLevel - alreadyHeld < quantity) {
+                return current;
+            }
+            held[0] = true;
+            return alreadyHeld + quantity;
+        });
+        return held[0];
+    }
+
+    private void unhold(Long storeId, Map<Long, Integer> quantities) {
+        for (Map.Entry<Long, Integer> line : quantities.entrySet()) {
+            reserved.computeIfPresent(InventoryKeys.pack(line.getKey(), storeId),
+                    (k, current) -> current - line.getValue() <= 0 ? null : current - line.getValue());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.project.code.Model.Store;
+import com.project.code.Model.StoreView;
+import com.project.code.Repo.StoreRepository;
+
+@Service
+public class StoreSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreSearchService.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    // Immutable copy of a store's own columns, with the lower-cased texts searches are checked against
+    public record CachedStore(Long id, String name, String address,
+                              @JsonIgnore String searchName, @JsonIgnore String searchAddress) implements StoreView {
+
+        static CachedStore of(Long id, String name, String address) {
+            return new CachedStore(id, name, address, lower(name), lower(address));
+        }
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getAddress() {
+            return address;
+        }
+
+        boolean contains(String token) {
+            return searchName.contains(token) || searchAddress.contains(token);
+        }
+    }
+
+    private final StoreRepository storeRepository;
+    private final TrigramIndex nameIndex = new TrigramIndex();
+    private final TrigramIndex addressIndex = new TrigramIndex();
+    // Every store by id; its key set answers `exists`
+    private final Map<Long, CachedStore> stores = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @Value("${store.search.index-enabled:true}")
+    private boolean enabled;
+
+    @Value("${store.search.max-results:100}")
+    private int maxResults;
+
+    public StoreSearchService(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+// 1. **rebuild Method**:
+//    - Loads the id, name and address of every store, a page of ids at a time, into the trigram indexes and the id
+//      set; runs once the application is up.
+//    - Until it has finished, `exists` and `search` go to the database.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        nameIndex.clear();
+        addressIndex.clear();
+        stores.clear();
+        long last = 0;
+        List<StoreView> page;
+        do {
+            page = storeRepository.findViewsAfter(last, Limit.of(LOAD_PAGE_SIZE));
+            for (StoreView store : page) {
+                put(store.getId(), store.getName(), store.getAddress());
+                last = store.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+        ready = true;
+        logger.info("Store search index built with {} stores", stores.size());
+    }
+
+// 2. **indexStore Method**:
+//    - Adds a store saved through `StoreController`, or replaces its name and address.
+    public void indexStore(Store store) {
+        if (enabled && store.getId() != null) {
+            put(store.getId(), store.getName(), store.getAddress());
+        }
+    }
+
+// 3. **exists Method**:
+//    - Whether a store with this id exists, from the in-memory id set once it is built.
+//    - Return Type: `boolean` (`false` for a `null` id)
+    public boolean exists(Long storeId) {
+        if (storeId == null) {
+            return false;
+        }
+        if (!enabled || !ready) {
+            return storeRepository.existsById(storeId);
+        }
+        return stores.containsKey(storeId);
+    }
+
+// 4. **search Method**:
+//    - Stores with every whitespace-separated word of `query` somewhere in their name or address, ignoring case,
+//      in id order; at most `store.search.max-results` (0: no limit).
+//    - The longest word is looked up in the name and address indexes and the others checked on the candidates.
+//    - Until the index is built, `findViewsBySubName` of `StoreRepository` answers instead, matching the name only.
+//    - Return Type: `List<StoreView>`
+    public List<StoreView> search(String query) {
+        if (!enabled || !ready) {
+            return storeRepository.findViewsBySubName(query == null ? "" : query.trim());
+        }
+        String[] tokens = lower(query).trim().split("\\s+");
+        String longest = tokens[0];
+        for (String token : tokens) {
+            if (token.length() > longest.length()) {
+                longest = token;
+            }
+        }
+        if (longest.isEmpty()) {
+            return new ArrayList<>();
+        }
+        TreeSet<Integer> candidates = new TreeSet<>();
+        for (int id : nameIndex.search(longest, 0)) {
+            candidates.add(id);
+        }
+        for (int id : addressIndex.search(longest, 0)) {
+            candidates.add(id);
+        }
+        List<StoreView> result = new ArrayList<>();
+        next:
+        for (int id : candidates) {
+            CachedStore store = stores.get((long) id);
+            if (store == null) {
+                continue;
+            }
+            for (String token : tokens) {
+                if (!store.contains(token)) {
+                    continue next;
+                }
+            }
+            result.add(store);
+            if (maxResults > 0 && result.size() == maxResults) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void put(Long id, String name, String address) {
+        int key = Math.toIntExact(id);
+        nameIndex.put(key, name);
+        addressIndex.put(key, address);
+        stores.put(id, CachedStore.of(id, name, address));
+    }
+
+    private static String lower(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Hashed timer wheel: scheduling is O(1) and each tick only looks at one bucket,
+// so expiring entries never needs a scan of everything that is pending.
+// Timeouts cannot be cancelled; the expiry callback must ignore entries that are no longer live.
+public class TimerWheel<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimerWheel.class);
+
+    private record Timeout<T>(T item, long deadlineTick) {}
+
+    private final long tickMillis;
+    private final Queue<Timeout<T>>[] buckets;
+    private final int mask;
+    private final Consumer<T> onExpire;
+    private final long startNanos = System.nanoTime();
+    private final ScheduledExecutorService ticker;
+    private volatile long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(String name, long tickMillis, int wheelSize, Consumer<T> onExpire) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = size - 1;
+        this.onExpire = onExpire;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void schedule(T item, long delayMillis) {
+        long deadlineTick = Math.max(currentTick + 1, elapsedTicks() + (delayMillis + tickMillis - 1) / tickMillis);
+        buckets[(int) (deadlineTick & mask)].add(new Timeout<>(item, deadlineTick));
+    }
+
+    private long elapsedTicks() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) / tickMillis;
+    }
+
+    private void advance() {
+        long target = elapsedTicks();
+        while (currentTick <= target) {
+            long tick = currentTick;
+            Queue<Timeout<T>> bucket = buckets[(int) (tick & mask)];
+            List<Timeout<T>> later = new ArrayList<>();
+            Timeout<T> timeout;
+            while ((timeout = bucket.poll()) != null) {
+                if (timeout.deadlineTick() <= tick) {
+                    try {
+                        onExpire.accept(timeout.item());
+                    } catch (RuntimeException e) {
+                        // one failing callback must not stop the wheel
+                        logger.warn("Timer wheel callback failed", e);
+                    }
+                } else {
+                    later.add(timeout);
+                }
+            }
+            bucket.addAll(later);
+            currentTick = tick + 1;
+        }
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+}
@@ -0,0 +1,157 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.SelectionOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.code.Model.RatingSummary;
+import com.project.code.Model.TopRatedProductDTO;
+
+@Service
+public class TopRatedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopRatedService.class);
+
+    private final MongoTemplate mongoTemplate;
+    // Per store, its best rated products, best first; at most `review.top-rated.size` of them, replaced as a whole
+    private final Map<Long, List<TopRatedProductDTO>> tops = new ConcurrentHashMap<>();
+    // Mean rating of all reviews as of the last `recompute`, the prior of the Bayesian average; NaN until then
+    private volatile double mean = Double.NaN;
+
+    @Value("${review.top-rated.size:20}")
+    private int size;
+
+    @Value("${review.top-rated.prior-weight:10}")
+    private double priorWeight;
+
+    public TopRatedService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+// 1. **getTop Method**:
+//    - The best rated products of a store, read from memory: the cost does not depend on the number of reviews
+//      or products.
+//    - Empty until the first `recompute` has succeeded (it runs as soon as the application starts), so a request
+//      never waits for an aggregation.
+//    - Parameters: `int limit` (capped at `review.top-rated.size`)
+//    - Return Type: `List<TopRatedProductDTO>` (best first, empty if the store has no reviews)
+    public List<TopRatedProductDTO> getTop(Long storeId, int limit) {
+        List<TopRatedProductDTO> top = tops.getOrDefault(storeId, List.of());
+        return top.subList(0, Math.max(0, Math.min(limit, top.size())));
+    }
+
+// 2. **recompute Method**:
+//    - Ranks every store's products again with an aggregation over the rating summaries (never the reviews):
+//      the mean of all ratings first, then each product's Bayesian average (t + C * mean) / (n + C), C being
+//      `review.top-rated.prior-weight`, and the best `review.top-rated.size` per store kept with `$topN`,
+//      so the database never holds more than that many products of a store at a time.
+//    - `$topN` needs MongoDB 5.2 or later; on an older server the aggregation fails, the failure is logged and
+//      `getTop` stays empty.
+//    - Runs every `review.top-rated.recompute-millis`; between runs `update` keeps the lists current, and this
+//      brings back products that dropped out of a list after a better one lost reviews, and follows the mean.
+    @Scheduled(fixedDelayString = "${review.top-rated.recompute-millis:600000}")
+    public void recompute() {
+        try {
+            double prior = computeMean();
+            Map<Long, List<TopRatedProductDTO>> computed = aggregate(prior);
+            // A review counted by `update` while the aggregation ran may be missed until the next run
+            tops.keySet().retainAll(computed.keySet());
+            tops.putAll(computed);
+            mean = prior;
+            logger.info("Top rated products recomputed for {} stores", computed.size());
+        } catch (RuntimeException e) {
+            logger.warn("Could not recompute the top rated products", e);
+        }
+    }
+
+// 3. **update Method**:
+//    - Re-ranks one product in its store's list after a review of it was added or deleted: O(`review.top-rated.size`).
+//    - The product enters the list if it now ranks above the last one; a product of the list that has no reviews
+//      left is dropped.
+//    - Parameters: `RatingSummary summary` (the product's summary after the change)
+    public void update(RatingSummary summary) {
+        double prior = mean;
+        if (Double.isNaN(prior) || summary == null) {
+            return;
+        }
+        TopRatedProductDTO product = summary.getCount() > 0 ? rank(summary.getProductId(), summary.getCount(), summary.getSum(), prior) : null;
+        tops.compute(summary.getStoreId(), (storeId, top) -> {
+            List<TopRatedProductDTO> changed = offer(top == null ? List.of() : top, summary.getProductId(), product);
+            return changed.isEmpty() ? null : changed;
+        });
+    }
+
+    // `top` without `productId`, then with `product` (if any) in its place; at most `size` products
+    private List<TopRatedProductDTO> offer(List<TopRatedProductDTO> top, Long productId, TopRatedProductDTO product) {
+        List<TopRatedProductDTO> changed = new ArrayList<>(top.size() + 1);
+        boolean placed = product == null;
+        for (TopRatedProductDTO other : top) {
+            if (other.getProductId().equals(productId)) {
+                continue;
+            }
+            if (!placed && product.getScore() > other.getScore()) {
+                changed.add(product);
+                placed = true;
+            }
+            changed.add(other);
+        }
+        if (!placed) {
+            changed.add(product);
+        }
+        return List.copyOf(changed.subList(0, Math.min(changed.size(), Math.max(1, size))));
+    }
+
+    private double computeMean() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group().sum("n").as("n").sum("t").as("t"));
+        Document totals = mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(RatingSummary.class), Document.class)
+                .getUniqueMappedResult();
+        if (totals == null || ((Number) totals.get("n")).longValue() <= 0) {
+            return 0;
+        }
+        return ((Number) totals.get("t")).doubleValue() / ((Number) totals.get("n")).doubleValue();
+    }
+
+    // The best products of each store, best first
+    private Map<Long, List<TopRatedProductDTO>> aggregate(double prior) {
+        Criteria reviewed = Criteria.where("n").gt(0);
+        AggregationExpression score = ArithmeticOperators.Divide.valueOf(ArithmeticOperators.Add.valueOf("t").add(priorWeight * prior))
+                .divideBy(ArithmeticOperators.Add.valueOf("n").add(priorWeight));
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(reviewed),
+                Aggregation.project("s", "p", "n", "t").and(score).as("score"),
+                Aggregation.group("s").and("top", SelectionOperators.Top.top(Math.max(1, size))
+                        .sortBy(Sort.by(Sort.Direction.DESC, "score")).output("p", "n", "t")));
+        Map<Long, List<TopRatedProductDTO>> computed = new HashMap<>();
+        for (Document store : mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(RatingSummary.class), Document.class)) {
+            List<TopRatedProductDTO> top = new ArrayList<>();
+            // `$topN` gives each product as the array [p, n, t]
+            for (Object entry : store.getList("top", Object.class)) {
+                List<?> product = (List<?>) entry;
+                top.add(rank(((Number) product.get(0)).longValue(), ((Number) product.get(1)).longValue(),
+                        ((Number) product.get(2)).longValue(), prior));
+            }
+            computed.put(((Number) store.get("_id")).longValue(), List.copyOf(top));
+        }
+        return computed;
+    }
+
+    private TopRatedProductDTO rank(Long productId, long count, long sum, double prior) {
+        return new TopRatedProductDTO(productId, count, (double) sum / count, (sum + priorWeight * prior) / (count + priorWeight));
+    }
+}
@@ -0,0 +1,268 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+// Inverted index from the trigrams of a lower-cased text to the sorted int ids of the documents containing it.
+// Texts are padded with a start and end marker, so a text shorter than three characters still has trigrams.
+// A substring query of three or more characters intersects the posting lists of its trigrams; a shorter one
+// unions the lists of every indexed trigram containing it. Candidates are then checked against the stored text,
+// so results are exact. Ids index a dense array of texts, so they should be small and mostly contiguous
+// (database identity values). Safe for concurrent use; writers take an exclusive lock.
+public class TrigramIndex {
+
+    private static final char START = '\u0002';
+    private static final char END = '\u0003';
+
+    // Sorted, duplicate-free ids; grown by doubling
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+                size--;
+            }
+        }
+
+        // Galloping search for the first position at or after `from` holding an id >= `id`
+        int seek(int from, int id) {
+            int step = 1;
+            int hi = from;
+            while (hi < size && ids[hi] < id) {
+                from = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            int at = Arrays.binarySearch(ids, from, Math.min(hi + 1, size), id);
+            return at >= 0 ? at : -at - 1;
+        }
+    }
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private String[] texts = new String[1024];
+    private int count;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(int id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            if (id >= texts.length) {
+                texts = Arrays.copyOf(texts, Math.max(id + 1, texts.length * 2));
+            }
+            String previous = texts[id];
+            texts[id] = normalized;
+            if (previous == null) {
+                count++;
+            } else {
+                for (long gram : trigrams(pad(previous))) {
+                    unlink(gram, id);
+                }
+            }
+            for (long gram : trigrams(pad(normalized))) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            String previous = id < texts.length ? texts[id] : null;
+            if (previous != null) {
+                texts[id] = null;
+                count--;
+                for (long gram : trigrams(pad(previous))) {
+                    unlink(gram, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            texts = new String[1024];
+            count = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of the documents whose text contains `query` (case-insensitive), ascending; at most `limit` (0: all)
+    public int[] search(String query, int limit) {
+        return search(query, limit, id -> true);
+    }
+
+    // Same, counting only the ids accepted by `filter` towards the limit
+    public int[] search(String query, int limit, IntPredicate filter) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            return new int[0];
+        }
+        int max = limit <= 0 ? Integer.MAX_VALUE : limit;
+        lock.readLock().lock();
+        try {
+            return q.length() >= 3 ? intersect(q, max, filter) : shortQuery(q, max, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] intersect(String q, int max, IntPredicate filter) {
+        List<Postings> lists = new ArrayList<>();
+        for (long gram : trigrams(q)) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        Postings smallest = lists.get(0);
+        // a single trigram needs no check against the text
+        boolean verify = q.length() > 3;
+        int[] result = new int[Math.min(max, smallest.size)];
+        int[] cursors = new int[lists.size()];
+        int n = 0;
+        next:
+        for (int i = 0; i < smallest.size && n < result.length; i++) {
+            int id = smallest.ids[i];
+            for (int j = 1; j < lists.size(); j++) {
+                Postings list = lists.get(j);
+                int at = list.seek(cursors[j], id);
+                cursors[j] = at;
+                if (at == list.size) {
+                    break next;
+                }
+                if (list.ids[at] != id) {
+                    continue next;
+                }
+            }
+            if (filter.test(id) && (!verify || texts[id].contains(q))) {
+                result[n++] = id;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    // One or two characters: every trigram containing them qualifies its documents outright
+    private int[] shortQuery(String q, int max, IntPredicate filter) {
+        List<Postings> lists = new ArrayList<>();
+        long total = 0;
+        for (Map.Entry<Long, Postings> entry : postings.entrySet()) {
+            if (contains(entry.getKey(), q)) {
+                lists.add(entry.getValue());
+                total += entry.getValue().size;
+            }
+        }
+        if (max != Integer.MAX_VALUE && total > count / 8) {
+            // common characters: walking the texts reaches `max` matches long before the unions would be built
+            int[] result = new int[max];
+            int n = 0;
+            for (int id = 0; id < texts.length && n < max; id++) {
+                if (texts[id] != null && filter.test(id) && texts[id].contains(q)) {
+                    result[n++] = id;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+        BitSet ids = new BitSet(texts.length);
+        for (Postings list : lists) {
+            for (int i = 0; i < list.size; i++) {
+                ids.set(list.ids[i]);
+            }
+        }
+        return ids.stream().filter(filter).limit(max).toArray();
+    }
+
+    private void unlink(long gram, int id) {
+        Postings list = postings.get(gram);
+        if (list != null) {
+            list.remove(id);
+            if (list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static String pad(String text) {
+        return START + text + END;
+    }
+
+    // Distinct trigrams of `text`, each packed as three 16-bit chars
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        long[] grams = new long[text.length() - 2];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int unique = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (unique == 0 || grams[i] != grams[unique - 1]) {
+                grams[unique++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, unique);
+    }
+
+    // Whether the packed trigram contains `q` of one or two characters
+    private static boolean contains(long gram, String q) {
+        char a = (char) (gram >>> 32);
+        char b = (char) (gram >>> 16);
+        char c = (char) gram;
+        if (q.length() == 1) {
+            char x = q.charAt(0);
+            return a == x || b == x || c == x;
+        }
+        char x = q.charAt(0);
+        char y = q.charAt(1);
+        return (a == x && b == y) || (b == x && c == y);
+    }
+}
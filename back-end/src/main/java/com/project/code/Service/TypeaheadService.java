@@ -0,0 +1,255 @@
+package com.project.code.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.InventoryItemView;
+import com.project.code.Model.ProductSalesView;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.OrderItemRepository;
+
+@Service
+public class TypeaheadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TypeaheadService.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+
+    private enum Kind { STOCK, SALE, PRODUCT, REMOVE }
+
+    // A change to one inventory row (STOCK, SALE) or to a product in every store (PRODUCT, REMOVE)
+    private record Change(Kind kind, long storeId, long productId, int quantity, String name, double price) {}
+
+    private final InventoryRepository inventoryRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductCache productCache;
+    // One immutable index per store, replaced as a whole on every change, so reads take no lock
+    private final Map<Long, PrefixIndex> indexes = new ConcurrentHashMap<>();
+    private final Queue<Change> pending = new ConcurrentLinkedQueue<>();
+    // Serializes the writers that build the next indexes
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    @Value("${inventory.typeahead.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.typeahead.rank-by:sales}")
+    private String rankBy;
+
+    @Value("${inventory.typeahead.max-results:20}")
+    private int maxResults;
+
+    public TypeaheadService(InventoryRepository inventoryRepository, OrderItemRepository orderItemRepository, ProductCache productCache) {
+        this.inventoryRepository = inventoryRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.productCache = productCache;
+    }
+
+// 1. **rebuild / reconcile Methods**:
+//    - Loads every inventory row with its product's name and price, a page of ids at a time, and the units each store
+//      sold of each product, then publishes one index per store; runs once the application is up.
+//    - Until it has first finished, `complete` returns `null` and callers fall back to a name search; later rebuilds
+//      replace the indexes in place.
+//    - The changes queued while it reads may already be in what it read, so they are dropped rather than applied a
+//      second time; one it missed (committed after its row was read) is corrected by `reconcile`, which rebuilds
+//      every `inventory.typeahead.rebuild-millis`, as is any other drift of the queued changes from the database.
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        writeLock.lock();
+        try {
+            Map<Long, Map<Long, Integer>> sold = new HashMap<>();
+            for (ProductSalesView sales : orderItemRepository.findSalesByStoreAndProduct()) {
+                sold.computeIfAbsent(sales.getStoreId(), k -> new HashMap<>())
+                        .put(sales.getProductId(), (int) Math.min(Integer.MAX_VALUE, sales.getQuantity()));
+            }
+            Map<Long, List<PrefixIndex.Item>> items = new HashMap<>();
+            long last = 0;
+            List<InventoryItemView> page;
+            do {
+                page = inventoryRepository.findItemsAfter(last, Limit.of(LOAD_PAGE_SIZE));
+                for (InventoryItemView row : page) {
+                    int units = sold.getOrDefault(row.getStoreId(), Map.of()).getOrDefault(row.getProductId(), 0);
+                    items.computeIfAbsent(row.getStoreId(), k -> new ArrayList<>()).add(new PrefixIndex.Item(row.getProductId(),
+                            row.getName(), price(row.getPrice()), stock(row.getStockLevel()), units));
+                    last = row.getId();
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+            // Queued before or during the reads: already counted, or left to the next rebuild, never counted twice
+            pending.clear();
+            indexes.keySet().retainAll(items.keySet());
+            items.forEach((storeId, storeItems) -> indexes.put(storeId, new PrefixIndex(storeItems)));
+            ready = true;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Typeahead indexes built for {} stores", indexes.size());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.typeahead.rebuild-millis:3600000}", initialDelayString = "${inventory.typeahead.rebuild-millis:3600000}")
+    public void reconcile() {
+        if (!ready) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Could not rebuild the typeahead indexes; the current ones stay in use", e);
+        }
+    }
+
+// 2. **stocked / soldAfterCommit / productChanged / productRemoved Methods**:
+//    - Queue the changes that affect completions: a store stocking a product or setting its stock level, units sold
+//      by an order (once its transaction has committed), a product renamed or repriced, a product taken out of every store.
+//    - Queued changes are applied together by `flush`.
+    public void stocked(Long storeId, Long productId, Integer stockLevel) {
+        enqueue(new Change(Kind.STOCK, storeId, productId, stock(stockLevel), null, 0));
+    }
+
+    public void soldAfterCommit(Long storeId, Long productId, int quantity) {
+        if (!enabled) {
+            return;
+        }
+        Change change = new Change(Kind.SALE, storeId, productId, quantity, null, 0);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(change);
+            }
+        });
+    }
+
+    public void productChanged(Long productId, String name, Double price) {
+        enqueue(new Change(Kind.PRODUCT, 0, productId, 0, name, price(price)));
+    }
+
+    public void productRemoved(Long productId) {
+        enqueue(new Change(Kind.REMOVE, 0, productId, 0, null, 0));
+    }
+
+// 3. **flush Method**:
+//    - Applies the queued changes to copies of the affected stores' indexes and publishes them; readers keep using
+//      the previous index until then and are never blocked.
+    @Scheduled(fixedDelayString = "${inventory.typeahead.flush-millis:200}")
+    public void flush() {
+        if (!enabled || !ready || pending.isEmpty() || !writeLock.tryLock()) {
+            return;
+        }
+        try {
+            // Per store, the new item of each changed product; a null item removes it
+            Map<Long, Map<Long, PrefixIndex.Item>> changes = new HashMap<>();
+            Change change;
+            while ((change = pending.poll()) != null) {
+                apply(change, changes);
+            }
+            changes.forEach((storeId, storeChanges) -> {
+                List<PrefixIndex.Item> changed = new ArrayList<>();
+                List<Long> removed = new ArrayList<>();
+                storeChanges.forEach((productId, item) -> {
+                    if (item == null) {
+                        removed.add(productId);
+                    } else {
+                        changed.add(item);
+                    }
+                });
+                indexes.put(storeId, indexes.getOrDefault(storeId, PrefixIndex.EMPTY).with(changed, removed));
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+// 4. **complete Method**:
+//    - The products of a store with a word of their name starting with `prefix`, best selling first
+//      (`inventory.typeahead.rank-by=stock`: most stock first); at most `limit`, capped at `inventory.typeahead.max-results`.
+//    - Return Type: `List<PrefixIndex.Item>`, or `null` while the index is disabled or not built yet.
+    public List<PrefixIndex.Item> complete(Long storeId, String prefix, int limit) {
+        if (!enabled || !ready) {
+            return null;
+        }
+        return indexes.getOrDefault(storeId, PrefixIndex.EMPTY)
+                .complete(prefix, Math.min(limit, maxResults), !"stock".equalsIgnoreCase(rankBy));
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    private void enqueue(Change change) {
+        if (enabled && change.productId() > 0) {
+            pending.add(change);
+        }
+    }
+
+    // Folds one change into `changes`, on top of the current indexes and the changes before it
+    private void apply(Change change, Map<Long, Map<Long, PrefixIndex.Item>> changes) {
+        if (change.kind() == Kind.STOCK || change.kind() == Kind.SALE) {
+            Map<Long, PrefixIndex.Item> storeChanges = changes.computeIfAbsent(change.storeId(), k -> new HashMap<>());
+            PrefixIndex.Item item = current(change.storeId(), change.productId(), storeChanges);
+            if (item == null && change.kind() == Kind.STOCK) {
+                // Newly stocked: name and price come from the product
+                item = productCache.get(change.productId())
+                        .map(product -> new PrefixIndex.Item(product.id(), product.name(), price(product.price()), 0, 0))
+                        .orElse(null);
+            }
+            if (item == null) {
+                return;
+            }
+            storeChanges.put(change.productId(), change.kind() == Kind.STOCK
+                    ? new PrefixIndex.Item(item.id(), item.name(), item.price(), change.quantity(), item.sold())
+                    : new PrefixIndex.Item(item.id(), item.name(), item.price(),
+                            item.stockLevel() - change.quantity(), item.sold() + change.quantity()));
+            return;
+        }
+        Set<Long> stores = new HashSet<>(indexes.keySet());
+        stores.addAll(changes.keySet());
+        for (Long storeId : stores) {
+            Map<Long, PrefixIndex.Item> storeChanges = changes.get(storeId);
+            PrefixIndex.Item item = current(storeId, change.productId(), storeChanges == null ? Map.of() : storeChanges);
+            if (item == null) {
+                continue;
+            }
+            changes.computeIfAbsent(storeId, k -> new HashMap<>()).put(change.productId(), change.kind() == Kind.REMOVE ? null
+                    : new PrefixIndex.Item(item.id(), change.name(), change.price(), item.stockLevel(), item.sold()));
+        }
+    }
+
+    private PrefixIndex.Item current(long storeId, long productId, Map<Long, PrefixIndex.Item> storeChanges) {
+        if (storeChanges.containsKey(productId)) {
+            return storeChanges.get(productId);
+        }
+        return indexes.getOrDefault(storeId, PrefixIndex.EMPTY).get(productId);
+    }
+
+    private static double price(Double price) {
+        return price == null ? 0 : price;
+    }
+
+    private static int stock(Integer stockLevel) {
+        return stockLevel == null ? 0 : stockLevel;
+    }
+}
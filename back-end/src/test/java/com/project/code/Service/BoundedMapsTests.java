@@ -0,0 +1,44 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedMapsTests {
+
+	@Test
+	void leavesAMapWithinItsBoundAlone() {
+		Map<Integer, Integer> map = new ConcurrentHashMap<>();
+		for (int i = 0; i < 100; i++) {
+			map.put(i, i);
+		}
+		BoundedMaps.trim(map, 100);
+
+		assertThat(map).hasSize(100);
+	}
+
+	@Test
+	void dropsATenthOfTheBoundOnceOverIt() {
+		Map<Integer, Integer> map = new ConcurrentHashMap<>();
+		for (int i = 0; i < 105; i++) {
+			map.put(i, i);
+		}
+		BoundedMaps.trim(map, 100);
+
+		assertThat(map).hasSize(90);
+	}
+
+	@Test
+	void onlyDropsEvictableEntries() {
+		Map<Integer, Integer> map = new ConcurrentHashMap<>();
+		for (int i = 0; i < 11; i++) {
+			map.put(i, i);
+		}
+		BoundedMaps.trim(map, 10, value -> value % 2 == 0);
+
+		assertThat(map).hasSize(9).containsKeys(1, 3, 5, 7, 9);
+	}
+}
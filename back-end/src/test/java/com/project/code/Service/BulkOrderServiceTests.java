@@ -0,0 +1,45 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Model.PlaceOrderResultDTO;
+
+class BulkOrderServiceTests {
+
+	private static final String ORDER = "{\"storeId\":1,\"customerName\":\"John Doe\",\"customerEmail\":\"john.doe@example.com\","
+			+ "\"customerPhone\":\"1234567890\",\"purchaseProduct\":[{\"id\":21,\"quantity\":1}],\"totalPrice\":10}";
+
+	@Test
+	void failedBatchGetsAnErrorPerLineAndTheStreamGoesOn() throws Exception {
+		OrderService orderService = mock(OrderService.class);
+		PlaceOrderResultDTO placed = new PlaceOrderResultDTO();
+		placed.setOrderId(7L);
+		when(orderService.saveOrders(anyList()))
+				.thenThrow(new IllegalStateException("boom"))
+				.thenReturn(List.of(placed));
+		BulkOrderService service = new BulkOrderService(orderService, new ObjectMapper());
+		ReflectionTestUtils.setField(service, "batchSize", 2);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		String body = ORDER + "\n" + ORDER + "\n" + ORDER + "\n";
+		service.placeOrders(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(lines).containsExactly(
+				"{\"line\":1,\"Error\":\"Error: boom\"}",
+				"{\"line\":2,\"Error\":\"Error: boom\"}",
+				"{\"line\":3,\"orderId\":7}");
+	}
+}
@@ -0,0 +1,78 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.code.Repo.ProductRepository;
+
+class CatalogSnapshotsTests {
+
+	private CatalogVersions catalogVersions;
+	private CatalogSnapshots snapshots;
+
+	@BeforeEach
+	void setUp() {
+		ProductRepository productRepository = mock(ProductRepository.class);
+		when(productRepository.findStoreViews(anyLong())).thenReturn(List.of());
+		catalogVersions = new CatalogVersions();
+		snapshots = new CatalogSnapshots(productRepository, catalogVersions, new ObjectMapper());
+		ReflectionTestUtils.setField(snapshots, "enabled", true);
+		ReflectionTestUtils.setField(snapshots, "maxStores", 2);
+	}
+
+	private CatalogSnapshots.Snapshot get(long storeId) {
+		return snapshots.get(storeId, catalogVersions.storeTag(storeId));
+	}
+
+	@Test
+	void snapshotIsBuiltOnceAskedForAndServedWhileCurrent() throws IOException {
+		assertThat(get(1)).isNull();
+		snapshots.refresh();
+
+		CatalogSnapshots.Snapshot snapshot = get(1);
+		assertThat(snapshot).isNotNull();
+		assertThat(new String(snapshot.json())).isEqualTo("{\"product\":[]}");
+		try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+			assertThat(gzip.readAllBytes()).isEqualTo(snapshot.json());
+		}
+
+		catalogVersions.storeChanged(1L);
+		assertThat(get(1)).isNull();
+		snapshots.refresh();
+		assertThat(get(1)).isNotNull().isNotSameAs(snapshot);
+	}
+
+	@Test
+	void storeBeyondMaxStoresReplacesTheLeastRecentlyRead() {
+		get(1);
+		get(2);
+		snapshots.refresh();
+		assertThat(get(2)).isNotNull();
+		assertThat(get(1)).isNotNull();
+
+		// Store 2 was read least recently
+		assertThat(get(3)).isNull();
+		snapshots.refresh();
+		assertThat(get(3)).isNotNull();
+		assertThat(get(1)).isNotNull();
+		assertThat(get(2)).isNull();
+
+		// and can come back, in place of store 3
+		snapshots.refresh();
+		assertThat(get(2)).isNotNull();
+		assertThat(get(1)).isNotNull();
+		assertThat(get(3)).isNull();
+	}
+}
@@ -0,0 +1,144 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.InventoryStockView;
+import com.project.code.Repo.InventoryRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InventoryCacheTests {
+
+	private static final Long STORE = 1L;
+	private static final Long PRODUCT = 21L;
+
+	private InventoryRepository inventoryRepository;
+	private InventoryCache cache;
+	// Stock level of the row in the database, as a query would read it
+	private int committedStock;
+
+	@BeforeEach
+	void setUp() {
+		inventoryRepository = mock(InventoryRepository.class);
+		cache = new InventoryCache(inventoryRepository, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "maxSize", 1000);
+		committedStock = 10;
+		whenQueried(() -> row(committedStock));
+	}
+
+	private void whenQueried(Supplier<InventoryStockView> answer) {
+		when(inventoryRepository.findStockByStoreIdAndProductIds(eq(STORE), anyCollection()))
+				.thenAnswer(invocation -> List.of(answer.get()));
+	}
+
+	private static InventoryStockView row(int stockLevel) {
+		return new InventoryStockView() {
+			public Long getId() {
+				return 5L;
+			}
+
+			public Long getProductId() {
+				return PRODUCT;
+			}
+
+			public int getStockLevel() {
+				return stockLevel;
+			}
+		};
+	}
+
+	// An order taking `quantity` in a transaction: registers the cache update, returns its afterCommit
+	private Runnable orderTaking(int quantity) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			cache.adjustAfterCommit(PRODUCT, STORE, -quantity);
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			return () -> {
+				committedStock -= quantity;
+				synchronizations.forEach(TransactionSynchronization::afterCommit);
+			};
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void committedDecrementIsAppliedToACachedRow() {
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(10);
+		orderTaking(3).run();
+
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(7);
+		verify(inventoryRepository, times(1)).findStockByStoreIdAndProductIds(eq(STORE), anyCollection());
+	}
+
+	@Test
+	void loadThatReadBeforeACommittedDecrementIsNotKept() {
+		// The load reads 10, then the order commits 7 before the load stores what it read
+		whenQueried(() -> {
+			InventoryStockView stale = row(committedStock);
+			orderTaking(3).run();
+			return stale;
+		});
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(10);
+
+		whenQueried(() -> row(committedStock));
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(7);
+	}
+
+	@Test
+	void loadThatReadTheCommittedStockIsNotDecrementedAgain() {
+		// The order commits, the load reads 7 and stores it, and only then does the afterCommit run
+		Runnable commit = orderTaking(3);
+		whenQueried(() -> {
+			committedStock -= 3;
+			return row(committedStock);
+		});
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(7);
+		committedStock += 3;
+		commit.run();
+
+		whenQueried(() -> row(committedStock));
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(7);
+	}
+
+	@Test
+	void loadOverlappingAWriteDoesNotReplaceIt() {
+		whenQueried(() -> {
+			cache.put(PRODUCT, STORE, 5L, 50);
+			return row(10);
+		});
+
+		cache.get(PRODUCT, STORE);
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(50);
+	}
+
+	@Test
+	void loadOverlappingAnEvictionIsNotKept() {
+		whenQueried(() -> {
+			InventoryStockView stale = row(committedStock);
+			committedStock = 4;
+			cache.evict(PRODUCT, STORE);
+			return stale;
+		});
+		cache.get(PRODUCT, STORE);
+
+		whenQueried(() -> row(committedStock));
+		assertThat(cache.get(PRODUCT, STORE).stockLevel()).isEqualTo(4);
+	}
+}
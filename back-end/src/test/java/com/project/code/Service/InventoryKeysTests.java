@@ -0,0 +1,26 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class InventoryKeysTests {
+
+	@Test
+	void packedIdsComeBackUnchanged() {
+		long key = InventoryKeys.pack(Integer.MAX_VALUE, 7);
+
+		assertThat(InventoryKeys.productId(key)).isEqualTo(Integer.MAX_VALUE);
+		assertThat(InventoryKeys.storeId(key)).isEqualTo(7);
+		assertThat(InventoryKeys.storeId(InventoryKeys.pack(21, Integer.MAX_VALUE))).isEqualTo(Integer.MAX_VALUE);
+		assertThat(InventoryKeys.pack(1, 2)).isNotEqualTo(InventoryKeys.pack(2, 1));
+	}
+
+	@Test
+	void idsBeyondAnIntAreRefusedInsteadOfAliased() {
+		// Would have packed to the keys of (0, 1) and (0, 0)
+		assertThatThrownBy(() -> InventoryKeys.pack(0, (1L << 32) + 1)).isInstanceOf(ArithmeticException.class);
+		assertThatThrownBy(() -> InventoryKeys.pack(1L << 32, 0)).isInstanceOf(ArithmeticException.class);
+	}
+}
@@ -0,0 +1,62 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.code.Model.OrderTicketDTO;
+import com.project.code.Model.PlaceOrderRequestDTO;
+import com.project.code.Model.PlaceOrderResultDTO;
+
+class OrderPipelineServiceTests {
+
+	@Test
+	void aTicketTrimmedWhileItsOrderIsCommittedStaysTrimmed() throws Exception {
+		CountDownLatch committing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		OrderService orderService = mock(OrderService.class);
+		when(orderService.saveOrders(anyList())).thenAnswer(invocation -> {
+			committing.countDown();
+			release.await();
+			PlaceOrderResultDTO placed = new PlaceOrderResultDTO();
+			placed.setOrderId(1L);
+			return List.of(placed);
+		});
+		OrderPipelineService pipeline = new OrderPipelineService(orderService);
+		ReflectionTestUtils.setField(pipeline, "enabled", true);
+		ReflectionTestUtils.setField(pipeline, "queueCapacity", 10);
+		ReflectionTestUtils.setField(pipeline, "maxBatch", 1);
+		ReflectionTestUtils.setField(pipeline, "retainedTickets", 2);
+		pipeline.start();
+		String first;
+		String second;
+		String third;
+		String fourth;
+		try {
+			first = pipeline.submit(new PlaceOrderRequestDTO()).getTicket();
+			assertThat(committing.await(5, TimeUnit.SECONDS)).isTrue();
+			// Trims the first two tickets while the first order is being committed
+			second = pipeline.submit(new PlaceOrderRequestDTO()).getTicket();
+			third = pipeline.submit(new PlaceOrderRequestDTO()).getTicket();
+			fourth = pipeline.submit(new PlaceOrderRequestDTO()).getTicket();
+		} finally {
+			release.countDown();
+			pipeline.stop();
+		}
+
+		assertThat(pipeline.getTicket(first)).isNull();
+		assertThat(pipeline.getTicket(second)).isNull();
+		assertThat(pipeline.getTicket(third).getStatus()).isEqualTo(OrderTicketDTO.Status.DURABLE);
+		assertThat(pipeline.getTicket(fourth).getStatus()).isEqualTo(OrderTicketDTO.Status.DURABLE);
+		assertThat((Map<?, ?>) ReflectionTestUtils.getField(pipeline, "tickets")).hasSize(2);
+	}
+}
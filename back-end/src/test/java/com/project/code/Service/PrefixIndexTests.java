@@ -0,0 +1,92 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PrefixIndexTests {
+
+	private static PrefixIndex.Item item(long id, String name, int stockLevel, int sold) {
+		return new PrefixIndex.Item(id, name, 9.99, stockLevel, sold);
+	}
+
+	private static long[] ids(List<PrefixIndex.Item> items) {
+		return items.stream().mapToLong(PrefixIndex.Item::id).toArray();
+	}
+
+	private static final PrefixIndex INDEX = new PrefixIndex(List.of(
+			item(1, "Samsung Galaxy S21", 5, 40),
+			item(2, "Galaxy Tab", 50, 10),
+			item(3, "Apple iPhone", 20, 100),
+			item(4, "Galaxy  Galaxy Buds", 1, 10),
+			item(5, "Google Pixel", 0, 0)));
+
+	@Test
+	void completesWordStartsCaseInsensitively() {
+		// "Galaxy Galaxy Buds" has two matching words but is returned once
+		assertThat(ids(INDEX.complete("gal", 10, true))).containsExactly(1, 2, 4);
+		assertThat(ids(INDEX.complete("GALAXY", 10, true))).containsExactly(1, 2, 4);
+		assertThat(ids(INDEX.complete("iph", 10, true))).containsExactly(3);
+		assertThat(ids(INDEX.complete("g", 10, true))).containsExactly(1, 2, 4, 5);
+		// only word starts, not the middle of a word
+		assertThat(INDEX.complete("msung", 10, true)).isEmpty();
+		assertThat(INDEX.complete("xyz", 10, true)).isEmpty();
+		assertThat(INDEX.complete("  ", 10, true)).isEmpty();
+		assertThat(INDEX.complete("gal", 0, true)).isEmpty();
+	}
+
+	@Test
+	void prefixWithSpacesMatchesConsecutiveWords() {
+		assertThat(ids(INDEX.complete("galaxy s", 10, true))).containsExactly(1);
+		assertThat(ids(INDEX.complete("galaxy   t", 10, true))).containsExactly(2);
+		assertThat(ids(INDEX.complete("galaxy galaxy b", 10, true))).containsExactly(4);
+		assertThat(INDEX.complete("samsung tab", 10, true)).isEmpty();
+	}
+
+	@Test
+	void ranksBySalesOrByStockAndKeepsTheBestLimit() {
+		// Ties on sales go to the product with more stock
+		assertThat(ids(INDEX.complete("galaxy", 2, true))).containsExactly(1, 2);
+		assertThat(ids(INDEX.complete("galaxy", 10, false))).containsExactly(2, 1, 4);
+		assertThat(ids(INDEX.complete("galaxy", 1, false))).containsExactly(2);
+	}
+
+	@Test
+	void withChangedCountsKeepsTheKeys() {
+		PrefixIndex changed = INDEX.with(List.of(item(4, "Galaxy  Galaxy Buds", 1, 500)), List.of());
+
+		assertThat(ids(changed.complete("galaxy", 10, true))).containsExactly(4, 1, 2);
+		assertThat(changed.get(4).sold()).isEqualTo(500);
+		// the original is unchanged
+		assertThat(INDEX.get(4).sold()).isEqualTo(10);
+	}
+
+	@Test
+	void withAddsRenamesAndRemovesProducts() {
+		PrefixIndex changed = INDEX.with(
+				List.of(item(6, "Galaxy Watch", 3, 1), item(3, "Apple Watch", 20, 100)),
+				List.of(2L, 99L));
+
+		assertThat(changed.size()).isEqualTo(5);
+		assertThat(changed.get(2)).isNull();
+		assertThat(ids(changed.complete("watch", 10, true))).containsExactly(3, 6);
+		assertThat(ids(changed.complete("galaxy", 10, true))).containsExactly(1, 4, 6);
+		assertThat(changed.complete("iphone", 10, true)).isEmpty();
+	}
+
+	@Test
+	void productWithoutANameIsKeptButNeverCompleted() {
+		PrefixIndex index = new PrefixIndex(List.of(item(1, null, 5, 5), item(2, "Galaxy Tab", 5, 5)));
+		assertThat(index.get(1).name()).isEmpty();
+		assertThat(ids(index.complete("g", 10, true))).containsExactly(2);
+
+		PrefixIndex changed = index.with(List.of(item(1, null, 7, 7), item(2, "Galaxy Tab", 6, 6)), List.of());
+		assertThat(changed.get(1).stockLevel()).isEqualTo(7);
+
+		PrefixIndex named = changed.with(List.of(item(1, "Gadget", 7, 7)), List.of());
+		assertThat(ids(named.complete("g", 10, true))).containsExactly(1, 2);
+		assertThat(named.with(List.of(item(1, null, 7, 7)), List.of()).complete("gad", 10, true)).isEmpty();
+	}
+}
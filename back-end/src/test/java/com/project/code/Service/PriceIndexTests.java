@@ -0,0 +1,263 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.code.Model.ProductPriceView;
+import com.project.code.Repo.ProductRepository;
+
+class PriceIndexTests {
+
+	// Product prices in the database (id -> price), as the queries read them
+	private final SortedMap<Long, Double> database = Collections.synchronizedSortedMap(new TreeMap<>());
+	private final ProductRepository productRepository = mock(ProductRepository.class);
+
+	// Index over `prices`, built the way the application does once it is up
+	private PriceIndex index(Map<Long, Double> prices, int maxBatch) {
+		database.putAll(prices);
+		when(productRepository.findPricesAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> {
+			long after = invocation.getArgument(0);
+			int max = invocation.<Limit>getArgument(1).max();
+			List<ProductPriceView> page = new ArrayList<>();
+			for (Map.Entry<Long, Double> product : database.tailMap(after + 1).entrySet()) {
+				if (page.size() == max) {
+					break;
+				}
+				page.add(view(product.getKey(), product.getValue()));
+			}
+			return page;
+		});
+		when(productRepository.findPricesByIdIn(anyCollection())).thenAnswer(invocation -> {
+			List<ProductPriceView> found = new ArrayList<>();
+			for (Long id : invocation.<Collection<Long>>getArgument(0)) {
+				if (database.containsKey(id)) {
+					found.add(view(id, database.get(id)));
+				}
+			}
+			return found;
+		});
+		PriceIndex index = new PriceIndex(productRepository);
+		ReflectionTestUtils.setField(index, "enabled", true);
+		ReflectionTestUtils.setField(index, "maxBatch", maxBatch);
+		index.rebuild();
+		return index;
+	}
+
+	private static ProductPriceView view(Long id, Double price) {
+		return new ProductPriceView() {
+			public Long getId() {
+				return id;
+			}
+
+			public Double getPrice() {
+				return price;
+			}
+		};
+	}
+
+	// A product saved (or deleted: `price` absent) and committed, then handed to the index
+	private void save(PriceIndex index, long id, Double price) {
+		database.put(id, price);
+		index.changed(id);
+	}
+
+	private void delete(PriceIndex index, long id) {
+		database.remove(id);
+		index.changed(id);
+	}
+
+	private static long[] range(PriceIndex index, double min, double max) {
+		return index.range(min, max, id -> true, 0);
+	}
+
+	@Test
+	void rebuildLoadsEveryPageSortedByPrice() {
+		Map<Long, Double> prices = new TreeMap<>();
+		for (long id = 1; id <= 25_000; id++) {
+			prices.put(id, (double) (25_001 - id));
+		}
+		PriceIndex index = index(prices, 1000);
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(range(index, 0, 1_000_000)).hasSize(25_000).startsWith(25_000, 24_999).endsWith(1);
+		assertThat(range(index, 10, 12)).containsExactly(24_991, 24_990, 24_989);
+	}
+
+	@Test
+	void rangeBoundsAreInclusiveAndEqualPricesGoByIdAndNullPriceIsZero() {
+		PriceIndex index = index(Map.of(5L, 10.0, 2L, 10.0, 9L, 10.0, 1L, 9.99, 3L, 10.01), 1000);
+		save(index, 4L, null);
+		index.flush();
+
+		assertThat(range(index, 10, 10)).containsExactly(2, 5, 9);
+		assertThat(range(index, 9.99, 10.01)).containsExactly(1, 2, 5, 9, 3);
+		assertThat(range(index, 0, 0)).containsExactly(4);
+		assertThat(range(index, 10.02, 100)).isEmpty();
+		assertThat(range(index, 11, 10)).isEmpty();
+		assertThat(index.range(0, 100, id -> id % 2 == 1, 2)).containsExactly(1, 5);
+	}
+
+	@Test
+	void flushAppliesInsertsPriceChangesAndRemovals() {
+		PriceIndex index = index(Map.of(1L, 5.0, 2L, 10.0, 3L, 15.0), 1000);
+		save(index, 4L, 12.0);
+		save(index, 1L, 20.0);
+		delete(index, 2L);
+
+		// Queued until the next flush
+		assertThat(range(index, 0, 100)).containsExactly(1, 2, 3);
+		index.flush();
+		assertThat(range(index, 0, 100)).containsExactly(4, 3, 1);
+
+		delete(index, 42L);
+		save(index, 3L, 12.0);
+		index.flush();
+		assertThat(range(index, 0, 100)).containsExactly(3, 4, 1);
+	}
+
+	@Test
+	void aBatchAppliesThePricesCommittedLast() {
+		PriceIndex index = index(Map.of(1L, 5.0), 1000);
+		save(index, 1L, 7.0);
+		delete(index, 1L);
+		save(index, 2L, 3.0);
+		save(index, 2L, 8.0);
+		index.flush();
+
+		assertThat(range(index, 0, 100)).containsExactly(2);
+		assertThat(range(index, 8, 8)).containsExactly(2);
+	}
+
+	@Test
+	void changesAreFlushedInTheBackgroundOnceMaxBatchAreQueued() throws InterruptedException {
+		PriceIndex index = index(Map.of(), 3);
+		AtomicReference<Thread> reader = new AtomicReference<>();
+		when(productRepository.findPricesByIdIn(anyCollection())).thenAnswer(invocation -> {
+			reader.set(Thread.currentThread());
+			return invocation.<Collection<Long>>getArgument(0).stream().map(id -> view(id, database.get(id))).toList();
+		});
+		save(index, 1L, 1.0);
+		save(index, 2L, 2.0);
+		assertThat(range(index, 0, 100)).isEmpty();
+
+		save(index, 3L, 3.0);
+		for (int i = 0; i < 500 && range(index, 0, 100).length < 3; i++) {
+			Thread.sleep(10);
+		}
+		assertThat(range(index, 0, 100)).containsExactly(1, 2, 3);
+		assertThat(reader.get()).isNotNull().isNotSameAs(Thread.currentThread());
+	}
+
+	@Test
+	void savesQueuedOutOfCommitOrderEndAtTheCommittedPrice() {
+		PriceIndex index = index(Map.of(1L, 5.0), 1000);
+		// Two saves commit 7.0 then 8.0, and the later one is queued first
+		database.put(1L, 7.0);
+		database.put(1L, 8.0);
+		index.changed(1L);
+		index.flush();
+		index.changed(1L);
+		index.flush();
+
+		assertThat(range(index, 8, 8)).containsExactly(1);
+		assertThat(range(index, 0, 7.5)).isEmpty();
+	}
+
+	@Test
+	void aFailedReadIsRetriedByTheNextFlush() {
+		PriceIndex index = index(Map.of(1L, 5.0), 1000);
+		AtomicInteger reads = new AtomicInteger();
+		when(productRepository.findPricesByIdIn(anyCollection())).thenAnswer(invocation -> {
+			if (reads.getAndIncrement() == 0) {
+				throw new IllegalStateException("connection reset");
+			}
+			return invocation.<Collection<Long>>getArgument(0).stream().map(id -> view(id, database.get(id))).toList();
+		});
+		save(index, 1L, 9.0);
+
+		index.flush();
+		assertThat(range(index, 5, 5)).containsExactly(1);
+		index.flush();
+		assertThat(range(index, 9, 9)).containsExactly(1);
+	}
+
+	@Test
+	void rangeQueriesDuringFlushesSeeWholeSnapshots() throws InterruptedException {
+		Map<Long, Double> prices = new TreeMap<>();
+		for (long id = 1; id <= 1000; id++) {
+			prices.put(id, (double) id);
+		}
+		PriceIndex index = index(prices, 50);
+		AtomicReference<String> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			for (int i = 0; i < 2000 && failure.get() == null; i++) {
+				long[] ids = range(index, 0, 1_000_000);
+				// Every product moves to a new price but none is added or removed
+				if (ids.length != 1000) {
+					failure.set("saw " + ids.length + " products");
+				}
+			}
+		});
+		reader.start();
+		Random random = new Random(7);
+		for (int i = 0; i < 20_000; i++) {
+			save(index, 1L + random.nextInt(1000), (double) random.nextInt(10_000));
+		}
+		index.flush();
+		reader.join();
+
+		assertThat(failure.get()).isNull();
+	}
+
+	@Test
+	void matchesASortedModelAfterRandomChanges() {
+		Random random = new Random(11);
+		Map<Long, Double> model = new TreeMap<>();
+		for (long id = 1; id <= 500; id++) {
+			model.put(id, (double) random.nextInt(100));
+		}
+		PriceIndex index = index(model, 1000);
+		for (int round = 0; round < 50; round++) {
+			for (int i = 0; i < 40; i++) {
+				long id = 1 + random.nextInt(700);
+				if (random.nextInt(4) == 0) {
+					delete(index, id);
+					model.remove(id);
+				} else {
+					double price = random.nextInt(100);
+					save(index, id, price);
+					model.put(id, price);
+				}
+			}
+			index.flush();
+			double min = random.nextInt(100);
+			double max = min + random.nextInt(30);
+			long[] expected = model.entrySet().stream()
+					.filter(product -> product.getValue() >= min && product.getValue() <= max)
+					.sorted(Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+					.mapToLong(Map.Entry::getKey)
+					.toArray();
+
+			assertThat(range(index, min, max)).as("round %d", round).containsExactly(expected);
+		}
+	}
+}
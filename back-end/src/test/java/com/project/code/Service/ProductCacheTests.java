@@ -0,0 +1,136 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.code.Model.Product;
+import com.project.code.Model.ProductView;
+import com.project.code.Repo.ProductRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductCacheTests {
+
+	private ProductRepository productRepository;
+	private ProductCache cache;
+	// Products in the database by id, as a query would read them
+	private final Map<Long, ProductCache.CachedProduct> products = new TreeMap<>();
+	// Run by the next query, while it reads, as a concurrent save would
+	private Runnable duringQuery = () -> {};
+
+	@BeforeEach
+	void setUp() {
+		productRepository = mock(ProductRepository.class);
+		when(productRepository.findViewsByIdIn(anyCollection())).thenAnswer(invocation -> {
+			List<ProductView> found = invocation.<Collection<Long>>getArgument(0).stream()
+					.filter(products::containsKey).map(id -> (ProductView) products.get(id)).toList();
+			queried();
+			return found;
+		});
+		when(productRepository.findViewBySku(anyString())).thenAnswer(invocation -> {
+			Optional<ProductView> found = products.values().stream()
+					.filter(product -> product.sku().equals(invocation.getArgument(0))).map(ProductView.class::cast).findFirst();
+			queried();
+			return found;
+		});
+		cache = new ProductCache(productRepository, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "maxSize", 1000);
+		ReflectionTestUtils.setField(cache, "ttlSeconds", 300);
+		save(1L, "A-1");
+		save(2L, "B-2");
+	}
+
+	@AfterEach
+	void tearDown() {
+		cache.stop();
+	}
+
+	private void queried() {
+		Runnable during = duringQuery;
+		duringQuery = () -> {};
+		during.run();
+	}
+
+	private Product save(Long id, String sku) {
+		products.put(id, new ProductCache.CachedProduct(id, "Product " + id, "Tools", 9.5, sku));
+		Product product = new Product();
+		product.setId(id);
+		product.setName("Product " + id);
+		product.setSku(sku);
+		return product;
+	}
+
+	@Test
+	void aLoadOverlappingTheInvalidationOfAnotherProductIsKept() {
+		duringQuery = () -> cache.invalidate(save(2L, "B-3"));
+
+		assertThat(cache.get(1L)).map(ProductCache.CachedProduct::sku).contains("A-1");
+		assertThat(cache.get(1L)).isPresent();
+
+		verify(productRepository, times(1)).findViewsByIdIn(anyCollection());
+	}
+
+	@Test
+	void aLoadOverlappingTheInvalidationOfItsProductIsNotKept() {
+		duringQuery = () -> cache.invalidate(save(1L, "A-2"));
+
+		// The load may return what it read, but does not keep it
+		cache.get(1L);
+		assertThat(cache.get(1L)).map(ProductCache.CachedProduct::sku).contains("A-2");
+
+		verify(productRepository, times(2)).findViewsByIdIn(anyCollection());
+	}
+
+	@Test
+	void theOldSkuOfAChangedProductIsNoLongerServed() {
+		assertThat(cache.findBySku("A-1")).map(ProductCache.CachedProduct::id).contains(1L);
+		assertThat(cache.findBySku("C-1")).isEmpty();
+
+		cache.invalidate(save(1L, "C-1"));
+
+		assertThat(cache.findBySku("A-1")).isEmpty();
+		assertThat(cache.findBySku("C-1")).map(ProductCache.CachedProduct::id).contains(1L);
+		verify(productRepository, times(4)).findViewBySku(anyString());
+	}
+
+	@Test
+	void aSkuEntryLeftBehindIsNotServedOnceItsProductChanged() {
+		assertThat(cache.findBySku("A-1")).isPresent();
+		// The product's own entry went first (e.g. trimmed), so the invalidation cannot find its old SKU
+		((Map<?, ?>) ReflectionTestUtils.getField(cache, "byId")).clear();
+		cache.invalidate(save(1L, "C-1"));
+		cache.get(1L);
+
+		assertThat(cache.findBySku("A-1")).isEmpty();
+		verify(productRepository, times(2)).findViewBySku("A-1");
+	}
+
+	@Test
+	void skuHitsAreServedWhileTheirProductIsUnchanged() {
+		assertThat(cache.findBySku("A-1")).isPresent();
+		cache.invalidate(save(2L, "B-3"));
+
+		assertThat(cache.findBySku("A-1")).map(ProductCache.CachedProduct::id).contains(1L);
+		assertThat(cache.get(1L)).isPresent();
+
+		verify(productRepository, times(1)).findViewBySku(anyString());
+		verify(productRepository, times(0)).findViewsByIdIn(anyCollection());
+	}
+}
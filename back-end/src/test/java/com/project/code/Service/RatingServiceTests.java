@@ -0,0 +1,127 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.project.code.Model.RatingSummary;
+import com.project.code.Model.Review;
+import com.project.code.Repo.RatingSummaryRepository;
+
+class RatingServiceTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkOperations bulk = mock(BulkOperations.class);
+	private final RatingSummaryRepository ratingSummaryRepository = mock(RatingSummaryRepository.class);
+	private final TopRatedService topRatedService = mock(TopRatedService.class);
+	private final RatingService ratingService = new RatingService(mongoTemplate, ratingSummaryRepository, topRatedService);
+
+	private static Review review(long storeId, long productId, int rating) {
+		return new Review(1L, productId, storeId, rating);
+	}
+
+	// The update sent for each summary key by the one bulk write of `countAll`
+	private Map<String, Document> countAll(List<Review> reviews) {
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RatingSummary.class)).thenReturn(bulk);
+		ratingService.countAll(reviews);
+		ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(bulk).execute();
+		Map<String, Document> byKey = new HashMap<>();
+		verify(bulk, atLeastOnce()).upsert(queries.capture(), updates.capture());
+		for (int i = 0; i < queries.getAllValues().size(); i++) {
+			byKey.put(queries.getAllValues().get(i).getQueryObject().getString("_id"), updates.getAllValues().get(i).getUpdateObject());
+		}
+		return byKey;
+	}
+
+	@Test
+	void countAllSendsOneUpsertPerSummaryWithItsTotals() {
+		Map<String, Document> updates = countAll(List.of(review(1, 10, 5), review(1, 10, 3), review(1, 10, 5), review(1, 11, 1), review(2, 10, 4)));
+
+		assertThat(updates).containsOnlyKeys("1:10", "1:11", "2:10");
+		Document first = updates.get("1:10");
+		assertThat(first.get("$setOnInsert", Document.class)).isEqualTo(new Document("s", 1L).append("p", 10L));
+		assertThat(first.get("$inc", Document.class)).isEqualTo(new Document("n", 3L).append("t", 13L).append("r3", 1L).append("r5", 2L));
+		assertThat(updates.get("1:11").get("$inc", Document.class)).isEqualTo(new Document("n", 1L).append("t", 1L).append("r1", 1L));
+		assertThat(updates.get("2:10").get("$inc", Document.class)).isEqualTo(new Document("n", 1L).append("t", 4L).append("r4", 1L));
+	}
+
+	@Test
+	void countAllReRanksTheChangedSummaries() {
+		RatingSummary summary = new RatingSummary();
+		when(ratingSummaryRepository.findAllById(anyCollection())).thenReturn(List.of(summary));
+
+		countAll(List.of(review(1, 10, 5), review(1, 11, 2)));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Iterable<String>> keys = ArgumentCaptor.forClass(Iterable.class);
+		verify(ratingSummaryRepository).findAllById(keys.capture());
+		assertThat(keys.getValue()).containsExactlyInAnyOrder("1:10", "1:11");
+		verify(topRatedService).update(summary);
+	}
+
+	@Test
+	void countAllRefusesARatingOutOfRangeBeforeWritingAnything() {
+		for (int rating : new int[] { 0, 6, -1 }) {
+			assertThatThrownBy(() -> ratingService.countAll(List.of(review(1, 10, 4), review(1, 11, rating))))
+					.isInstanceOf(IllegalArgumentException.class).hasMessageContaining("rating must be between 1 and 5");
+		}
+		verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(RatingSummary.class));
+	}
+
+	@Test
+	void countAllOfNothingWritesNothing() {
+		ratingService.countAll(List.of());
+
+		verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), eq(RatingSummary.class));
+	}
+
+	@Test
+	void rebuildStampsEverySummaryAndDropsTheOthersByGeneration() {
+		List<Document> totals = new ArrayList<>();
+		for (long productId = 1; productId <= 3; productId++) {
+			totals.add(new Document("_id", new Document("storeId", 7L).append("productId", productId))
+					.append("n", 2L).append("t", 7L).append("r1", 0L).append("r2", 0L).append("r3", 1L).append("r4", 1L).append("r5", 0L));
+		}
+		when(mongoTemplate.aggregate(any(Aggregation.class), eq(Review.class), eq(Document.class)))
+				.thenReturn(new AggregationResults<>(totals, new Document()));
+
+		assertThat(ratingService.rebuild()).isEqualTo(3);
+
+		ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate, times(3)).upsert(any(Query.class), updates.capture(), eq(RatingSummary.class));
+		Object generation = updates.getValue().getUpdateObject().get("$set", Document.class).get("g");
+		assertThat(generation).isNotNull();
+		assertThat(updates.getAllValues()).allSatisfy(update -> assertThat(update.getUpdateObject().get("$set", Document.class))
+				.containsEntry("g", generation).containsEntry("s", 7L).containsEntry("n", 2L).containsEntry("r3", 1L));
+		ArgumentCaptor<Query> removed = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).remove(removed.capture(), eq(RatingSummary.class));
+		// One condition on the generation, whatever the number of summaries
+		assertThat(removed.getValue().getQueryObject()).isEqualTo(new Document("g", new Document("$ne", generation)));
+		verify(topRatedService).recompute();
+	}
+}
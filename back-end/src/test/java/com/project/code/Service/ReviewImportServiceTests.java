@@ -0,0 +1,203 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.project.code.Controller.ReviewController;
+import com.project.code.Model.Review;
+import com.project.code.Repo.ReviewRepository;
+
+import jakarta.validation.Validation;
+
+class ReviewImportServiceTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final RatingService ratingService = mock(RatingService.class);
+	// Every batch handed to the bulk insert, and every list of reviews counted in the summaries
+	private final List<List<Review>> inserts = Collections.synchronizedList(new ArrayList<>());
+	private final List<Review> counted = Collections.synchronizedList(new ArrayList<>());
+
+	// Service whose bulk inserts end with `outcome` applied to the batch (nothing thrown: all written)
+	private ReviewImportService service(int batchSize, int parallelism, Function<List<Review>, RuntimeException> outcome) {
+		when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Review.class)).thenAnswer(invocation -> {
+			BulkOperations bulk = mock(BulkOperations.class);
+			List<Review> batch = new ArrayList<>();
+			when(bulk.insert(anyList())).thenAnswer(insert -> {
+				batch.addAll(insert.getArgument(0));
+				return bulk;
+			});
+			when(bulk.execute()).thenAnswer(execute -> {
+				inserts.add(batch);
+				RuntimeException failure = outcome.apply(batch);
+				if (failure != null) {
+					throw failure;
+				}
+				return null;
+			});
+			return bulk;
+		});
+		doAnswer(invocation -> {
+			counted.addAll(invocation.<Collection<Review>>getArgument(0));
+			return null;
+		}).when(ratingService).countAll(any());
+		ReviewImportService service = new ReviewImportService(mongoTemplate, Jackson2ObjectMapperBuilder.json().build(),
+				Validation.buildDefaultValidatorFactory().getValidator(), ratingService, mock(ReviewService.class));
+		ReflectionTestUtils.setField(service, "batchSize", batchSize);
+		ReflectionTestUtils.setField(service, "parallelism", parallelism);
+		return service;
+	}
+
+	private static String review(long customerId, int rating) {
+		return "{\"customerId\":" + customerId + ",\"productId\":7,\"storeId\":3,\"rating\":" + rating + ",\"comment\":\"ok\"}";
+	}
+
+	// A JSON array of `count` valid reviews, customer ids 0 to count - 1
+	private static String reviews(int count) {
+		List<String> reviews = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			reviews.add(review(i, 1 + i % 5));
+		}
+		return "[" + String.join(",", reviews) + "]";
+	}
+
+	private static InputStream body(String json) {
+		return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<Long> customers(Collection<Review> reviews) {
+		return reviews.stream().map(Review::getCustomerId).sorted().toList();
+	}
+
+	@Test
+	void writesBatchesOfBatchSizeAndCountsEveryInsertedReview() throws IOException {
+		ReviewImportService.Report report = service(100, 3, batch -> null).importReviews(body(reviews(1050)));
+
+		assertThat(report.read()).isEqualTo(1050);
+		assertThat(report.inserted()).isEqualTo(1050);
+		assertThat(report.rejected()).isZero();
+		assertThat(report.unknown()).isZero();
+		assertThat(inserts).hasSize(11);
+		assertThat(inserts.stream().map(List::size).sorted().toList()).startsWith(50).containsOnly(50, 100);
+		assertThat(customers(counted)).hasSize(1050).doesNotHaveDuplicates();
+	}
+
+	@Test
+	void invalidReviewsAreRejectedWithTheirPositionAndReason() throws IOException {
+		String json = "[" + review(0, 5) + ",{\"customerId\":1,\"productId\":7,\"storeId\":3,\"rating\":9},"
+				+ "{\"productId\":7,\"storeId\":3,\"rating\":2},{\"customerId\":\"x\"}," + review(4, 1) + "]";
+
+		ReviewImportService.Report report = service(1000, 1, batch -> null).importReviews(body(json));
+
+		assertThat(report.read()).isEqualTo(5);
+		assertThat(report.inserted()).isEqualTo(2);
+		assertThat(report.rejected()).isEqualTo(3);
+		assertThat(report.rejects()).containsExactly(
+				"#1: [rating: rating must be between 1 and 5]",
+				"#2: [customerId: Customer cannot be null]",
+				"#3: Invalid input: The data provided is not valid.");
+		assertThat(customers(counted)).containsExactly(0L, 4L);
+	}
+
+	@Test
+	void onlyReviewsTheBulkWriteInsertedAreCounted() throws IOException {
+		// The second and fourth review of each batch are refused, e.g. as duplicates
+		ReviewImportService.Report report = service(5, 2, batch -> {
+			BulkOperationException failure = mock(BulkOperationException.class);
+			when(failure.getErrors()).thenReturn(List.of(
+					new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1),
+					new BulkWriteError(11000, "duplicate key", new BsonDocument(), 3)));
+			return failure;
+		}).importReviews(body(reviews(10)));
+
+		assertThat(report.inserted()).isEqualTo(6);
+		assertThat(report.rejected()).isEqualTo(4);
+		assertThat(report.rejects()).containsExactlyInAnyOrder(
+				"#1: duplicate key", "#3: duplicate key", "#6: duplicate key", "#8: duplicate key");
+		assertThat(customers(counted)).containsExactly(0L, 2L, 4L, 5L, 7L, 9L);
+	}
+
+	@Test
+	void aBatchThatFailsAsAWholeIsUnknownNotRejected() throws IOException {
+		ReviewImportService.Report report = service(4, 1, batch -> batch.get(0).getCustomerId() == 4
+				? new QueryTimeoutException("timed out") : null).importReviews(body(reviews(10)));
+
+		assertThat(report.inserted()).isEqualTo(6);
+		assertThat(report.rejected()).isZero();
+		assertThat(report.rejects()).isEmpty();
+		assertThat(report.unknown()).isEqualTo(4);
+		assertThat(report.unknownBatches()).containsExactly("#4 to #7 (4 reviews): may be partly written: timed out");
+		assertThat(customers(counted)).containsExactly(0L, 1L, 2L, 3L, 8L, 9L);
+	}
+
+	@Test
+	void onlyTheFirstHundredRejectsAreListed() throws IOException {
+		List<String> reviews = new ArrayList<>();
+		for (int i = 0; i < 250; i++) {
+			reviews.add(review(i, i % 2 == 0 ? 0 : 3));
+		}
+
+		ReviewImportService.Report report = service(1000, 1, batch -> null).importReviews(body("[" + String.join(",", reviews) + "]"));
+
+		assertThat(report.inserted()).isEqualTo(125);
+		assertThat(report.rejected()).isEqualTo(125);
+		assertThat(report.rejects()).hasSize(100).startsWith("#0: [rating: rating must be between 1 and 5]")
+				.endsWith("#198: [rating: rating must be between 1 and 5]");
+	}
+
+	@Test
+	void inputThatIsNotAJsonArrayIsRefusedBeforeAnyWrite() {
+		ReviewImportService service = service(1000, 1, batch -> null);
+
+		assertThatThrownBy(() -> service.importReviews(body(review(0, 5)))).isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Expected a JSON array of reviews");
+		assertThatThrownBy(() -> service.importReviews(body("[" + review(0, 5) + ",{"))).isInstanceOf(IllegalArgumentException.class)
+				.hasMessageStartingWith("Malformed JSON after 2 reviews");
+		verify(mongoTemplate, never()).bulkOps(eq(BulkOperations.BulkMode.UNORDERED), eq(Review.class));
+	}
+
+	@Test
+	void controllerAnswersBadRequestForABodyThatIsNotAJsonArray() throws IOException {
+		ReviewController controller = new ReviewController(mock(ReviewRepository.class), mock(CustomerNameCache.class), ratingService,
+				mock(ReviewService.class), service(1000, 1, batch -> null), mock(TopRatedService.class));
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reviews/import");
+		request.setContentType("application/json");
+		request.setContent("{\"reviews\":[]}".getBytes(StandardCharsets.UTF_8));
+
+		ResponseEntity<Map<String, Object>> response = controller.importReviews(request);
+
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(response.getBody()).containsEntry("Error", "Expected a JSON array of reviews");
+	}
+}
@@ -0,0 +1,141 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.code.Model.OrderLineFailureDTO;
+
+class StockReservationServiceTests {
+
+	private static final Long STORE = 1L;
+	private static final Long PRODUCT = 21L;
+
+	private StockReservationService service;
+
+	@AfterEach
+	void stop() {
+		if (service != null) {
+			service.stop();
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private StockReservationService service(long tickMillis, int stockLevel) {
+		InventoryCache inventoryCache = mock(InventoryCache.class);
+		when(inventoryCache.getAll(eq(STORE), anyCollection()))
+				.thenReturn(Map.of(PRODUCT, new InventoryCache.CachedInventory(5, stockLevel)));
+		service = new StockReservationService(inventoryCache, tickMillis);
+		ReflectionTestUtils.setField(service, "defaultTtlSeconds", 900);
+		ReflectionTestUtils.setField(service, "maxTtlSeconds", 3600);
+		return service;
+	}
+
+	private StockReservationService.Reservation reserve(int quantity, Integer ttlSeconds) {
+		return service.reserve(STORE, Map.of(PRODUCT, quantity), ttlSeconds, new ArrayList<>());
+	}
+
+	// Claims inside a fake transaction and completes it with `status`
+	private StockReservationService.Reservation claimAndComplete(String id, int status) {
+		TransactionSynchronizationManager.initSynchronization();
+		StockReservationService.Reservation claimed = service.claim(id, STORE);
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+		synchronizations.forEach(s -> s.afterCompletion(status));
+		return claimed;
+	}
+
+	@Test
+	void reserveHoldsStockUntilReleased() {
+		service(60_000, 10);
+		StockReservationService.Reservation reservation = reserve(4, null);
+
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isEqualTo(4);
+		assertThat(service.release(reservation.getId())).isTrue();
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isZero();
+		assertThat(service.release(reservation.getId())).isFalse();
+	}
+
+	@Test
+	void reserveFailsBeyondAvailableStock() {
+		service(60_000, 10);
+		reserve(8, null);
+		List<OrderLineFailureDTO> failures = new ArrayList<>();
+
+		assertThat(service.reserve(STORE, Map.of(PRODUCT, 3), null, failures)).isNull();
+		assertThat(failures).hasSize(1);
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isEqualTo(8);
+	}
+
+	@Test
+	void claimedReservationIsDoneOnCommit() {
+		service(60_000, 10);
+		StockReservationService.Reservation reservation = reserve(4, null);
+
+		assertThat(claimAndComplete(reservation.getId(), TransactionSynchronization.STATUS_COMMITTED)).isSameAs(reservation);
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isZero();
+		assertThat(claimAndComplete(reservation.getId(), TransactionSynchronization.STATUS_COMMITTED)).isNull();
+		assertThat(service.release(reservation.getId())).isFalse();
+	}
+
+	@Test
+	void claimedReservationIsLiveAgainOnRollback() {
+		service(60_000, 10);
+		StockReservationService.Reservation reservation = reserve(4, null);
+
+		assertThat(claimAndComplete(reservation.getId(), TransactionSynchronization.STATUS_ROLLED_BACK)).isSameAs(reservation);
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isEqualTo(4);
+		assertThat(claimAndComplete(reservation.getId(), TransactionSynchronization.STATUS_COMMITTED)).isSameAs(reservation);
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isZero();
+	}
+
+	@Test
+	void claimedReservationCannotBeClaimedOrReleasedTwice() {
+		service(60_000, 10);
+		StockReservationService.Reservation reservation = reserve(4, null);
+		TransactionSynchronizationManager.initSynchronization();
+
+		assertThat(service.claim(reservation.getId(), STORE)).isSameAs(reservation);
+		assertThat(service.claim(reservation.getId(), STORE)).isNull();
+		assertThat(service.release(reservation.getId())).isFalse();
+		assertThat(service.claim(reserve(1, null).getId(), 2L)).isNull();
+	}
+
+	@Test
+	void claimRejectsAnExpiredReservationEvenIfTheTimerHasNotFired() throws InterruptedException {
+		// One tick a minute: the wheel cannot expire anything during the test
+		service(60_000, 10);
+		StockReservationService.Reservation reservation = reserve(4, 1);
+		Thread.sleep(1_100);
+
+		assertThat(claimAndComplete(reservation.getId(), TransactionSynchronization.STATUS_COMMITTED)).isNull();
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isZero();
+	}
+
+	@Test
+	void timerWheelExpiresReservation() throws InterruptedException {
+		service(10, 10);
+		StockReservationService.Reservation reservation = reserve(4, 1);
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (service.reservedQuantity(STORE, PRODUCT) != 0 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertThat(service.reservedQuantity(STORE, PRODUCT)).isZero();
+		assertThat(service.release(reservation.getId())).isFalse();
+	}
+}
@@ -0,0 +1,50 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTests {
+
+	@Test
+	void firesEachTimeoutOnceAfterItsDelay() throws InterruptedException {
+		List<String> fired = new CopyOnWriteArrayList<>();
+		CountDownLatch done = new CountDownLatch(2);
+		try (TimerWheel<String> wheel = new TimerWheel<>("test-wheel", 10, 8, item -> {
+			fired.add(item);
+			done.countDown();
+		})) {
+			long start = System.nanoTime();
+			// 8 ticks of 10 ms per turn: "late" is due after more than two turns
+			wheel.schedule("late", 250);
+			wheel.schedule("soon", 30);
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+			// Deadlines are counted in whole ticks, so a timeout may fire up to one tick early
+			assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(240);
+			Thread.sleep(100);
+			assertThat(fired).containsExactly("soon", "late");
+		}
+	}
+
+	@Test
+	void failingCallbackDoesNotStopTheWheel() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		try (TimerWheel<String> wheel = new TimerWheel<>("test-wheel", 10, 8, item -> {
+			if (item.equals("bad")) {
+				throw new IllegalStateException(item);
+			}
+			done.countDown();
+		})) {
+			wheel.schedule("bad", 10);
+			wheel.schedule("good", 50);
+
+			assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.code.Model.RatingSummary;
+import com.project.code.Model.TopRatedProductDTO;
+
+class TopRatedServiceTests {
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+	// Lists of at most `size` products, with a prior of 10 reviews at a mean of `mean` (NaN: never recomputed)
+	private TopRatedService service(int size, double mean) {
+		TopRatedService service = new TopRatedService(mongoTemplate);
+		ReflectionTestUtils.setField(service, "size", size);
+		ReflectionTestUtils.setField(service, "priorWeight", 10.0);
+		ReflectionTestUtils.setField(service, "mean", mean);
+		return service;
+	}
+
+	private static RatingSummary summary(long storeId, long productId, long count, long sum) {
+		RatingSummary summary = new RatingSummary();
+		summary.setStoreId(storeId);
+		summary.setProductId(productId);
+		summary.setCount(count);
+		summary.setSum(sum);
+		return summary;
+	}
+
+	private static List<Long> ids(TopRatedService service, long storeId) {
+		return service.getTop(storeId, Integer.MAX_VALUE).stream().map(TopRatedProductDTO::getProductId).toList();
+	}
+
+	@Test
+	void productsAreRankedByBayesianAverage() {
+		TopRatedService service = service(20, 3.0);
+		service.update(summary(1, 10, 2, 10));
+		service.update(summary(1, 11, 200, 800));
+		service.update(summary(1, 12, 20, 40));
+
+		List<TopRatedProductDTO> top = service.getTop(1L, 10);
+		assertThat(top).extracting(TopRatedProductDTO::getProductId).containsExactly(11L, 10L, 12L);
+		// (800 + 10 * 3) / (200 + 10)
+		assertThat(top.get(0).getScore()).isEqualTo(830.0 / 210);
+		assertThat(top.get(0).getAverage()).isEqualTo(4.0);
+		assertThat(top.get(0).getCount()).isEqualTo(200);
+		assertThat(service.getTop(1L, 2)).extracting(TopRatedProductDTO::getProductId).containsExactly(11L, 10L);
+		assertThat(service.getTop(2L, 10)).isEmpty();
+	}
+
+	@Test
+	void aProductIsReplacedNotDuplicated() {
+		TopRatedService service = service(20, 3.0);
+		service.update(summary(1, 10, 10, 50));
+		service.update(summary(1, 11, 10, 40));
+		service.update(summary(1, 12, 10, 30));
+
+		service.update(summary(1, 12, 30, 150));
+		assertThat(ids(service, 1)).containsExactly(12L, 10L, 11L);
+
+		service.update(summary(1, 12, 40, 160));
+		assertThat(ids(service, 1)).containsExactly(10L, 12L, 11L);
+		assertThat(service.getTop(1L, 10).get(1).getCount()).isEqualTo(40);
+	}
+
+	@Test
+	void aProductWithoutReviewsIsDroppedAndAnEmptyStoreRemoved() {
+		TopRatedService service = service(20, 3.0);
+		service.update(summary(1, 10, 10, 50));
+		service.update(summary(1, 11, 10, 40));
+
+		service.update(summary(1, 10, 0, 0));
+		assertThat(ids(service, 1)).containsExactly(11L);
+
+		service.update(summary(1, 11, 0, 0));
+		assertThat(ids(service, 1)).isEmpty();
+		assertThat(ReflectionTestUtils.getField(service, "tops")).asInstanceOf(InstanceOfAssertFactories.MAP).isEmpty();
+
+		// A product that has no reviews and is not listed changes nothing
+		service.update(summary(1, 12, 0, 0));
+		assertThat(ReflectionTestUtils.getField(service, "tops")).asInstanceOf(InstanceOfAssertFactories.MAP).isEmpty();
+	}
+
+	@Test
+	void listsAreTruncatedToSize() {
+		TopRatedService service = service(3, 3.0);
+		for (long productId = 1; productId <= 5; productId++) {
+			service.update(summary(1, productId, 10, 10 + 8 * productId));
+		}
+		assertThat(ids(service, 1)).containsExactly(5L, 4L, 3L);
+
+		// Below the last of a full list: stays out
+		service.update(summary(1, 6, 10, 11));
+		assertThat(ids(service, 1)).containsExactly(5L, 4L, 3L);
+
+		// A listed product that falls below the last is still listed, last, until the next recompute
+		service.update(summary(1, 5, 10, 10));
+		assertThat(ids(service, 1)).containsExactly(4L, 3L, 5L);
+	}
+
+	@Test
+	void onEqualScoresTheProductAlreadyListedStaysAhead() {
+		TopRatedService service = service(2, 3.0);
+		service.update(summary(1, 10, 10, 40));
+		service.update(summary(1, 11, 10, 40));
+		assertThat(ids(service, 1)).containsExactly(10L, 11L);
+
+		service.update(summary(1, 12, 10, 40));
+		assertThat(ids(service, 1)).containsExactly(10L, 11L);
+
+		// Re-offered with the same score, a product goes behind its equals
+		service.update(summary(1, 10, 10, 40));
+		assertThat(ids(service, 1)).containsExactly(11L, 10L);
+	}
+
+	@Test
+	void nothingIsReadOrRankedBeforeTheFirstRecompute() {
+		TopRatedService service = service(20, Double.NaN);
+		service.update(summary(1, 10, 10, 50));
+
+		assertThat(service.getTop(1L, 10)).isEmpty();
+		verify(mongoTemplate, never()).aggregate(any(Aggregation.class), any(String.class), eq(Document.class));
+	}
+
+	@Test
+	void recomputeReplacesTheListsWithTheTopNOfEachStore() {
+		TopRatedService service = service(20, Double.NaN);
+		when(mongoTemplate.getCollectionName(RatingSummary.class)).thenReturn("rating_summaries");
+		when(mongoTemplate.aggregate(any(Aggregation.class), eq("rating_summaries"), eq(Document.class))).thenReturn(
+				new AggregationResults<>(List.of(new Document("n", 40L).append("t", 160L)), new Document()),
+				new AggregationResults<>(List.of(
+						new Document("_id", 1L).append("top", List.of(List.of(11L, 20L, 100L), List.of(10L, 20L, 60L))),
+						new Document("_id", 2L).append("top", List.of(List.of(20, 1, 5)))), new Document()));
+		service.update(summary(3, 30, 10, 50));
+
+		service.recompute();
+
+		assertThat(ids(service, 1)).containsExactly(11L, 10L);
+		assertThat(ids(service, 2)).containsExactly(20L);
+		assertThat(ids(service, 3)).isEmpty();
+		// Mean of 4.0: (100 + 10 * 4) / (20 + 10)
+		assertThat(service.getTop(1L, 1).get(0).getScore()).isEqualTo(140.0 / 30);
+
+		// Updates apply from then on, with the recomputed mean
+		service.update(summary(3, 30, 10, 50));
+		assertThat(service.getTop(3L, 1).get(0).getScore()).isEqualTo(90.0 / 20);
+	}
+}
@@ -0,0 +1,136 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTests {
+
+	@Test
+	void oneAndTwoCharacterQueriesMatchAnywhereInTheText() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "Apple");
+		index.put(2, "banana");
+		index.put(3, "kiwi");
+
+		assertThat(index.search("a", 0)).containsExactly(1, 2);
+		assertThat(index.search("A", 0)).containsExactly(1, 2);
+		assertThat(index.search("e", 0)).containsExactly(1);
+		assertThat(index.search("ap", 0)).containsExactly(1);
+		assertThat(index.search("le", 0)).containsExactly(1);
+		assertThat(index.search("an", 0)).containsExactly(2);
+		assertThat(index.search("wi", 0)).containsExactly(3);
+		assertThat(index.search("z", 0)).isEmpty();
+		assertThat(index.search("", 0)).isEmpty();
+	}
+
+	@Test
+	void shortQueryWithALimitWalksTheTexts() {
+		TrigramIndex index = new TrigramIndex();
+		for (int id = 0; id < 100; id++) {
+			index.put(id, id % 2 == 0 ? "even " + id : "odd " + id);
+		}
+
+		// "e" is in half the texts: found by walking them in id order up to the limit
+		assertThat(index.search("e", 3)).containsExactly(0, 2, 4);
+		assertThat(index.search("e", 3, id -> id > 10)).containsExactly(12, 14, 16);
+	}
+
+	@Test
+	void queryWithATrigramNoTextHasFindsNothing() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "strawberry");
+		index.put(2, "raspberry");
+
+		assertThat(index.search("berry", 0)).containsExactly(1, 2);
+		assertThat(index.search("berrz", 0)).isEmpty();
+		assertThat(index.search("xyz", 0)).isEmpty();
+		// every trigram is indexed, but not next to each other
+		assertThat(index.search("rawrasp", 0)).isEmpty();
+	}
+
+	@Test
+	void removedTextIsNotFoundAndItsIdCanBeIndexedAgain() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(1, "apple");
+		index.put(2, "pineapple");
+		index.remove(1);
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.search("apple", 0)).containsExactly(2);
+		assertThat(index.search("ap", 0)).containsExactly(2);
+
+		index.put(1, "grape");
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.search("apple", 0)).containsExactly(2);
+		assertThat(index.search("rap", 0)).containsExactly(1);
+
+		index.remove(2);
+		index.remove(2);
+		index.remove(5000);
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.search("ap", 0)).containsExactly(1);
+	}
+
+	@Test
+	void indexingAnIdAgainReplacesItsText() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(3, "banana");
+		index.put(3, "banana");
+
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.search("ana", 0)).containsExactly(3);
+		assertThat(index.search("nan", 0)).containsExactly(3);
+
+		index.put(3, "cherry");
+		assertThat(index.size()).isEqualTo(1);
+		assertThat(index.search("ana", 0)).isEmpty();
+		assertThat(index.search("err", 0)).containsExactly(3);
+	}
+
+	@Test
+	void idsBeyondTheInitialCapacityAreIndexed() {
+		TrigramIndex index = new TrigramIndex();
+		index.put(5000, "mango");
+		index.put(7, "mangosteen");
+
+		assertThat(index.search("mango", 0)).containsExactly(7, 5000);
+		assertThat(index.search("mango", 1)).containsExactly(7);
+	}
+
+	@Test
+	void searchesMatchAScanOfTheTexts() {
+		// Small alphabet, so posting lists are long and overlap, exercising the galloping intersection
+		Random random = new Random(42);
+		String[] texts = new String[3000];
+		TrigramIndex index = new TrigramIndex();
+		for (int id = 0; id < texts.length; id++) {
+			if (random.nextInt(10) == 0) {
+				continue;
+			}
+			texts[id] = randomText(random, 3 + random.nextInt(12));
+			index.put(id, texts[id]);
+		}
+		for (int i = 0; i < 500; i++) {
+			String query = randomText(random, 1 + random.nextInt(5));
+			int limit = random.nextInt(3) == 0 ? 5 : 0;
+			int[] expected = IntStream.range(0, texts.length)
+					.filter(id -> texts[id] != null && texts[id].contains(query))
+					.limit(limit == 0 ? Long.MAX_VALUE : limit)
+					.toArray();
+
+			assertThat(index.search(query, limit)).as("query %s, limit %d", query, limit).containsExactly(expected);
+		}
+	}
+
+	private static String randomText(Random random, int length) {
+		StringBuilder text = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			text.append("abcd".charAt(random.nextInt(4)));
+		}
+		return text.toString();
+	}
+}
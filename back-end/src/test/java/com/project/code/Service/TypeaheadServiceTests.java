@@ -0,0 +1,153 @@
+package com.project.code.Service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.code.Model.InventoryItemView;
+import com.project.code.Model.ProductSalesView;
+import com.project.code.Repo.InventoryRepository;
+import com.project.code.Repo.OrderItemRepository;
+
+class TypeaheadServiceTests {
+
+	private static final long STORE = 1L;
+	private static final long PRODUCT = 7L;
+
+	private final InventoryRepository inventoryRepository = mock(InventoryRepository.class);
+	private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+	private TypeaheadService typeahead;
+	// The row and sales in the database, as the rebuild reads them
+	private int stockLevel;
+	private long sold;
+	// Run by the rebuild's read of the sales, as an order committing meanwhile would
+	private Runnable duringRead = () -> {};
+
+	@BeforeEach
+	void setUp() {
+		when(orderItemRepository.findSalesByStoreAndProduct()).thenAnswer(invocation -> {
+			Runnable during = duringRead;
+			duringRead = () -> {};
+			during.run();
+			return List.of(sales(sold));
+		});
+		when(inventoryRepository.findItemsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation ->
+				invocation.<Long>getArgument(0) == 0 ? List.of(row(stockLevel)) : List.of());
+		typeahead = new TypeaheadService(inventoryRepository, orderItemRepository, mock(ProductCache.class));
+		ReflectionTestUtils.setField(typeahead, "enabled", true);
+		ReflectionTestUtils.setField(typeahead, "rankBy", "sales");
+		ReflectionTestUtils.setField(typeahead, "maxResults", 20);
+		stockLevel = 50;
+		sold = 10;
+	}
+
+	// An order of `quantity` committing: in the database, then queued for the index
+	private void orderCommits(int quantity) {
+		stockLevel -= quantity;
+		sold += quantity;
+		typeahead.soldAfterCommit(STORE, PRODUCT, quantity);
+	}
+
+	private PrefixIndex.Item item() {
+		List<PrefixIndex.Item> items = typeahead.complete(STORE, "dri", 20);
+		assertThat(items).hasSize(1);
+		return items.get(0);
+	}
+
+	private static InventoryItemView row(int stockLevel) {
+		return new InventoryItemView() {
+			public Long getId() {
+				return 1L;
+			}
+
+			public Long getStoreId() {
+				return STORE;
+			}
+
+			public Long getProductId() {
+				return PRODUCT;
+			}
+
+			public String getName() {
+				return "Drill";
+			}
+
+			public Double getPrice() {
+				return 99.0;
+			}
+
+			public Integer getStockLevel() {
+				return stockLevel;
+			}
+		};
+	}
+
+	private static ProductSalesView sales(long quantity) {
+		return new ProductSalesView() {
+			public Long getStoreId() {
+				return STORE;
+			}
+
+			public Long getProductId() {
+				return PRODUCT;
+			}
+
+			public Long getQuantity() {
+				return quantity;
+			}
+		};
+	}
+
+	@Test
+	void salesAfterTheRebuildAreApplied() {
+		typeahead.rebuild();
+		orderCommits(3);
+		typeahead.flush();
+
+		assertThat(item().stockLevel()).isEqualTo(47);
+		assertThat(item().sold()).isEqualTo(13);
+	}
+
+	@Test
+	void aSaleCommittedWhileTheRebuildReadsIsNotCountedTwice() {
+		typeahead.rebuild();
+		orderCommits(3);
+		// Read by the rebuild and queued too
+		duringRead = () -> orderCommits(4);
+
+		typeahead.rebuild();
+		typeahead.flush();
+
+		assertThat(item().stockLevel()).isEqualTo(43);
+		assertThat(item().sold()).isEqualTo(17);
+	}
+
+	@Test
+	void reconcileCorrectsDriftFromTheDatabase() {
+		typeahead.rebuild();
+		// Changed without a queued change
+		stockLevel = 5;
+		sold = 100;
+
+		typeahead.reconcile();
+
+		assertThat(item().stockLevel()).isEqualTo(5);
+		assertThat(item().sold()).isEqualTo(100);
+	}
+
+	@Test
+	void reconcileWaitsForTheFirstRebuild() {
+		typeahead.reconcile();
+
+		assertThat(typeahead.complete(STORE, "dri", 20)).isNull();
+	}
+}